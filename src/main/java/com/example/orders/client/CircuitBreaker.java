@@ -0,0 +1,96 @@
+package com.example.orders.client;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Consecutive-failure circuit breaker for one downstream system
+ * Opens after failureThreshold failures in a row and fails fast while open. Once
+ * openDuration has passed a single trial call is let through (HALF_OPEN): success
+ * closes the breaker, failure opens it again.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    @Getter
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        log.info("Circuit breaker '{}' initialized - failure threshold: {}, open duration: {}",
+                name, failureThreshold, openDuration);
+    }
+
+    /**
+     * True if a call may go out now; may move an expired OPEN breaker to HALF_OPEN
+     */
+    public boolean tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && openExpired() && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            log.info("Circuit breaker '{}' half-open, sending trial call", name);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * True unless the breaker is open and still cooling down; does not change state
+     */
+    public boolean isCallPermitted() {
+        State current = state.get();
+        return current == State.CLOSED || (current == State.OPEN && openExpired());
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Circuit breaker '{}' closed", name);
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.get() == State.CLOSED) {
+            open();
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAt.set(System.nanoTime());
+        state.set(State.OPEN);
+        log.warn("Circuit breaker '{}' opened after {} consecutive failures", name, consecutiveFailures.get());
+    }
+
+    private boolean openExpired() {
+        return System.nanoTime() - openedAt.get() >= openDurationNanos;
+    }
+}
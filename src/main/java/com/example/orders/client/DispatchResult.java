@@ -0,0 +1,7 @@
+package com.example.orders.client;
+
+public enum DispatchResult {
+    DELIVERED,
+    FAILED,
+    REJECTED
+}
@@ -0,0 +1,61 @@
+package com.example.orders.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent calls to one downstream system
+ * Replaces the thread-count cap when calls run on virtual threads: waiting callers
+ * park on the semaphore instead of holding a platform thread
+ */
+@Slf4j
+public class DownstreamLimiter implements MeterBinder {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxConcurrency;
+    private final Semaphore permits;
+
+    public DownstreamLimiter(String name, int maxConcurrency) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        log.info("Downstream limiter '{}' initialized - max concurrency: {}", name, maxConcurrency);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        permits.acquireUninterruptibly();
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getInFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("downstream.calls.in-flight", this, DownstreamLimiter::getInFlight)
+                .description("Calls to the downstream system currently holding a permit")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("downstream.calls.waiting", this, DownstreamLimiter::getWaiting)
+                .description("Callers waiting for a permit")
+                .tag("name", name)
+                .register(registry);
+    }
+}
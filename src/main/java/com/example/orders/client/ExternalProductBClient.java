@@ -1,18 +1,26 @@
 package com.example.orders.client;
 
 import com.example.orders.dto.response.OrderResponseDTO;
-import com.example.orders.model.OrderStatus;
-import com.example.orders.service.OrderStatusService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @Slf4j
@@ -20,37 +28,101 @@ import org.springframework.web.client.RestTemplate;
 public class ExternalProductBClient {
 
     private final RestTemplate restTemplate;
-    private final OrderStatusService orderStatusService;
+    private final DownstreamLimiter productBLimiter;
+    private final CircuitBreaker productBCircuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+    private final SmileMapper smileMapper;
 
     @Value("${external.product-b.url}")
     private String productBUrl;
 
-    @Async("productBExecutor")
-    public void sendOrderAsync(OrderResponseDTO order) {
+    @Value("${external.product-b.format:JSON}")
+    private PayloadFormat format;
+
+    @Value("${external.product-b.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${external.product-b.compression.min-bytes:2048}")
+    private int compressionMinBytes;
+
+    /**
+     * Sends a batch of orders to Product B in a single request
+     * REJECTED means the circuit breaker is open and nothing was sent
+     */
+    public DispatchResult sendOrders(List<OrderResponseDTO> orders) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        DispatchResult result = send(orders);
+        sample.stop(Timer.builder("orders.productb.request")
+                .description("Batch requests to Product B, including time waiting for a permit")
+                .tag("outcome", result.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return result;
+    }
+
+    private DispatchResult send(List<OrderResponseDTO> orders) {
+        if (!productBCircuitBreaker.tryAcquirePermission()) {
+            log.debug("Circuit breaker open, not sending {} orders to Product B", orders.size());
+            return DispatchResult.REJECTED;
+        }
+
         try {
-            log.info("Sending order {} to Product B", order.getExternalOrderId());
+            log.info("Sending {} orders to Product B", orders.size());
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<OrderResponseDTO> request = new HttpEntity<>(order, headers);
+            HttpEntity<byte[]> request = encode(orders);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(
-                    productBUrl + "/orders",
+            ResponseEntity<String> response = productBLimiter.execute(() -> restTemplate.postForEntity(
+                    productBUrl + "/orders/batch",
                     request,
                     String.class
-            );
+            ));
 
             if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("Order {} sent successfully to Product B", order.getExternalOrderId());
-                orderStatusService.updateStatus(order.getExternalOrderId(), OrderStatus.SENT);
-            } else {
-                log.error("Product B returned error for order {}", order.getExternalOrderId());
-                orderStatusService.updateStatus(order.getExternalOrderId(), OrderStatus.ERROR);
+                log.info("{} orders sent successfully to Product B", orders.size());
+                productBCircuitBreaker.onSuccess();
+                return DispatchResult.DELIVERED;
             }
 
+            log.error("Product B returned error for batch of {} orders", orders.size());
+            productBCircuitBreaker.onFailure();
+            return DispatchResult.FAILED;
+
         } catch (Exception e) {
-            log.error("Error sending order {} to Product B", order.getExternalOrderId(), e);
-            orderStatusService.updateStatus(order.getExternalOrderId(), OrderStatus.ERROR);
+            log.error("Error sending batch of {} orders to Product B", orders.size(), e);
+            productBCircuitBreaker.onFailure();
+            return DispatchResult.FAILED;
+        }
+    }
+
+    /**
+     * Serializes the batch in the configured format, gzipped once it reaches compressionMinBytes
+     */
+    private HttpEntity<byte[]> encode(List<OrderResponseDTO> orders) {
+        ObjectMapper mapper = switch (format) {
+            case JSON -> jsonMapper;
+            case CBOR -> cborMapper;
+            case SMILE -> smileMapper;
+        };
+        byte[] body = mapper.writeValueAsBytes(orders);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        if (compressionEnabled && body.length >= compressionMinBytes) {
+            body = gzip(body);
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return out.toByteArray();
     }
-}
\ No newline at end of file
+}
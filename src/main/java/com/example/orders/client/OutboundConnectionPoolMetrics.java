@@ -0,0 +1,76 @@
+package com.example.orders.client;
+
+import com.example.orders.dto.response.ConnectionPoolStatsDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps a handle on every outbound connection pool (one per remote host)
+ * so open, idle and pending connections can be read at any time and scraped as gauges
+ */
+public class OutboundConnectionPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PoolHandle> pools = new ConcurrentHashMap<>();
+
+    public OutboundConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("pool", poolName, "remote.address", remoteAddress.toString());
+        List<Meter> meters = List.of(
+                gauge("outbound.http.connections.active", metrics, ConnectionPoolMetrics::acquiredSize, tags),
+                gauge("outbound.http.connections.idle", metrics, ConnectionPoolMetrics::idleSize, tags),
+                gauge("outbound.http.connections.pending", metrics, ConnectionPoolMetrics::pendingAcquireSize, tags),
+                gauge("outbound.http.connections.open", metrics, ConnectionPoolMetrics::allocatedSize, tags));
+        pools.put(id, new PoolHandle(poolName, remoteAddress.toString(), metrics, meters));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        PoolHandle handle = pools.remove(id);
+        if (handle != null) {
+            handle.meters().forEach(meterRegistry::remove);
+        }
+    }
+
+    public List<ConnectionPoolStatsDTO> snapshot() {
+        return pools.values().stream()
+                .map(PoolHandle::toStats)
+                .sorted(Comparator.comparing(ConnectionPoolStatsDTO::getRemoteAddress))
+                .toList();
+    }
+
+    private Meter gauge(String name, ConnectionPoolMetrics metrics, ToDoubleFunction<ConnectionPoolMetrics> value, Tags tags) {
+        return Gauge.builder(name, metrics, value).tags(tags).register(meterRegistry);
+    }
+
+    private record PoolHandle(String poolName, String remoteAddress, ConnectionPoolMetrics metrics, List<Meter> meters) {
+
+        ConnectionPoolStatsDTO toStats() {
+            return ConnectionPoolStatsDTO.builder()
+                    .pool(poolName)
+                    .remoteAddress(remoteAddress)
+                    .open(metrics.allocatedSize())
+                    .active(metrics.acquiredSize())
+                    .idle(metrics.idleSize())
+                    .pending(metrics.pendingAcquireSize())
+                    .maxConnections(metrics.maxAllocatedSize())
+                    .maxPending(metrics.maxPendingAcquireSize())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.orders.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Body format for requests to Product B (external.product-b.format)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PayloadFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private final MediaType mediaType;
+}
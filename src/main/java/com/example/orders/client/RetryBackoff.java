@@ -0,0 +1,27 @@
+package com.example.orders.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter
+ * The delay for attempt n is picked uniformly in [d/2, d] where d = initial * 2^(n-1),
+ * capped at max, so retries of many orders failed together do not line up
+ */
+public class RetryBackoff {
+
+    private final long initialMillis;
+    private final long maxMillis;
+
+    public RetryBackoff(Duration initial, Duration max) {
+        this.initialMillis = initial.toMillis();
+        this.maxMillis = max.toMillis();
+    }
+
+    public Duration delay(int attempt) {
+        int exponent = Math.min(Math.max(attempt - 1, 0), 30);
+        long ceiling = Math.min(maxMillis, initialMillis << exponent);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+}
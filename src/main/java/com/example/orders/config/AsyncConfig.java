@@ -1,8 +1,11 @@
 package com.example.orders.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -14,8 +17,22 @@ import java.util.concurrent.ThreadPoolExecutor;
 @Slf4j
 public class AsyncConfig {
 
+    /**
+     * Platform mode: bounded pool, the pool size caps calls to Product B
+     * Virtual mode (spring.threads.virtual.enabled=true): one virtual thread per task,
+     * calls to Product B are capped by productBLimiter instead
+     */
     @Bean(name = "productBExecutor")
-    public Executor productBExecutor() {
+    public Executor productBExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("product-b-");
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(60_000);
+
+            log.info("Product B Executor initialized - virtual threads");
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(20);
@@ -29,4 +46,18 @@ public class AsyncConfig {
         log.info("Product B Executor initialized - core: 10, max: 20, queue: 500");
         return executor;
     }
+
+    /**
+     * Single thread that writes order status events to SSE subscribers, so a publisher never
+     * blocks on a client socket and each subscriber receives its events in order
+     */
+    @Bean(name = "orderEventsExecutor")
+    public Executor orderEventsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("order-events-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,170 @@
+package com.example.orders.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Inflates request bodies sent with Content-Encoding: gzip (Tomcat only compresses responses)
+ * Bodies that inflate past maxInflatedBytes are cut off, so a small upload cannot expand without bound
+ */
+@Component
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final long maxInflatedBytes;
+
+    public GzipRequestFilter(@Value("${orders.http.gzip-requests.enabled:false}") boolean enabled,
+                             @Value("${orders.http.gzip-requests.max-inflated-bytes:10485760}") long maxInflatedBytes) {
+        this.enabled = enabled;
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !GZIP.equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(new InflatedRequest(request, maxInflatedBytes), response);
+    }
+
+    /**
+     * The request as the application would have seen it uncompressed: no Content-Encoding, unknown length
+     */
+    private static class InflatedRequest extends HttpServletRequestWrapper {
+
+        private final long maxInflatedBytes;
+        private ServletInputStream body;
+
+        InflatedRequest(HttpServletRequest request, long maxInflatedBytes) {
+            super(request);
+            this.maxInflatedBytes = maxInflatedBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (body == null) {
+                body = new InflatingInputStream(super.getInputStream(), maxInflatedBytes);
+            }
+            return body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Readiness and read listeners are those of the compressed stream: compressed bytes being
+     * available means inflating can make progress. The gzip header is only read on the first
+     * read, so registering a listener never blocks.
+     */
+    private static class InflatingInputStream extends ServletInputStream {
+
+        private final ServletInputStream raw;
+        private final long limit;
+        private InputStream in;
+        private long read;
+        private boolean finished;
+
+        InflatingInputStream(ServletInputStream raw, long limit) {
+            this.raw = raw;
+            this.limit = limit;
+        }
+
+        private InputStream in() throws IOException {
+            if (in == null) {
+                in = new GZIPInputStream(raw);
+            }
+            return in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in().read();
+            count(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in().read(buffer, offset, length);
+            count(n);
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            if (n < 0) {
+                finished = true;
+                return;
+            }
+            read += n;
+            if (read > limit) {
+                throw new IOException("Request body inflates past " + limit + " bytes");
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return finished || raw.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            raw.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (in != null) {
+                in.close();
+            } else {
+                raw.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.orders.config;
+
+import com.example.orders.controller.AdmissionController;
+import com.example.orders.controller.CacheController;
+import com.example.orders.controller.ExternalProductAMockController;
+import com.example.orders.controller.ExternalProductBMockController;
+import com.example.orders.controller.OutboundHttpController;
+import com.example.orders.controller.ProductBMockFaults;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Set;
+
+/**
+ * Lazy profile (spring.main.lazy-initialization=true in application-lazy.properties)
+ * Only the mocks and internal endpoints below are created on first use; every other bean,
+ * including the ingestion path and the scheduled jobs, is still created at startup
+ */
+@Configuration
+@Profile("lazy")
+public class LazyInitConfig {
+
+    private static final Set<Class<?>> NON_CRITICAL = Set.of(
+            ExternalProductAMockController.class,
+            ExternalProductBMockController.class,
+            ProductBMockFaults.class,
+            AdmissionController.class,
+            CacheController.class,
+            OutboundHttpController.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerUnlessNonCritical() {
+        return (beanName, beanDefinition, beanType) -> !NON_CRITICAL.contains(beanType);
+    }
+}
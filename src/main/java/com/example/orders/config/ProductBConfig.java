@@ -0,0 +1,36 @@
+package com.example.orders.config;
+
+import com.example.orders.client.CircuitBreaker;
+import com.example.orders.client.DownstreamLimiter;
+import com.example.orders.client.RetryBackoff;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Resilience settings for calls to External Product B
+ */
+@Configuration
+public class ProductBConfig {
+
+    @Bean
+    public DownstreamLimiter productBLimiter(@Value("${external.product-b.max-concurrency:20}") int maxConcurrency) {
+        return new DownstreamLimiter("product-b", maxConcurrency);
+    }
+
+    @Bean
+    public CircuitBreaker productBCircuitBreaker(
+            @Value("${external.product-b.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${external.product-b.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds) {
+        return new CircuitBreaker("product-b", failureThreshold, Duration.ofSeconds(openDurationSeconds));
+    }
+
+    @Bean
+    public RetryBackoff productBRetryBackoff(
+            @Value("${outbox.retry.initial-backoff-ms:500}") long initialBackoffMs,
+            @Value("${outbox.retry.max-backoff-ms:60000}") long maxBackoffMs) {
+        return new RetryBackoff(Duration.ofMillis(initialBackoffMs), Duration.ofMillis(maxBackoffMs));
+    }
+}
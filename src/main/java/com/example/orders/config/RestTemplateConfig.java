@@ -1,18 +1,72 @@
 package com.example.orders.config;
 
+import com.example.orders.client.OutboundConnectionPoolMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * Shared outbound HTTP client for every call the service makes
+ * Keep-alive connections are pooled per remote host by Reactor Netty
+ */
 @Configuration
+@Slf4j
 public class RestTemplateConfig {
 
+    @Value("${outbound.http.max-connections-per-host:50}")
+    private int maxConnectionsPerHost;
+
+    @Value("${outbound.http.max-pending-acquires:500}")
+    private int maxPendingAcquires;
+
+    @Value("${outbound.http.max-idle-time-seconds:30}")
+    private long maxIdleTimeSeconds;
+
+    @Value("${outbound.http.http2-enabled:false}")
+    private boolean http2Enabled;
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(10000);
+    public OutboundConnectionPoolMetrics outboundConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        return new OutboundConnectionPoolMetrics(meterRegistry);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(OutboundConnectionPoolMetrics poolMetrics) {
+        log.info("Outbound HTTP pool initialized - max connections per host: {}, max pending: {}, http2: {}",
+                maxConnectionsPerHost, maxPendingAcquires, http2Enabled);
+
+        return ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnectionsPerHost)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(Duration.ofSeconds(5))
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleTimeSeconds))
+                .metrics(true, () -> poolMetrics)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(ConnectionProvider outboundConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(outboundConnectionProvider)
+                .keepAlive(true);
+
+        if (http2Enabled) {
+            // Cleartext upgrade for http:// hosts, HTTP/1.1 otherwise
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        ReactorClientHttpRequestFactory factory = new ReactorClientHttpRequestFactory(httpClient);
+        factory.setConnectTimeout(Duration.ofMillis(5000));
+        factory.setReadTimeout(Duration.ofMillis(10000));
 
         return new RestTemplate(factory);
     }
@@ -0,0 +1,50 @@
+package com.example.orders.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the pooled id sequences past the highest id already in use
+ * Tables filled through the former IDENTITY columns hold ids that a new sequence would hand
+ * out again. Runs once at startup, after Hibernate has created the sequences and before any
+ * request or scheduled job can insert. A sequence is never moved back, since other running
+ * instances may hold id blocks above the current maximum.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceReseeder {
+
+    /** Each pooled sequence and the tables whose ids it generates */
+    static final Map<String, List<String>> SEQUENCES = Map.of(
+            "orders_seq", List.of("orders", "orders_archive"),
+            "order_items_seq", List.of("order_items", "order_items_archive"),
+            "order_outbox_seq", List.of("order_outbox"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void reseed() {
+        SEQUENCES.forEach((sequence, tables) -> {
+            Long value = jdbcTemplate.queryForObject(reseedSql(sequence, tables), Long.class);
+            log.debug("Sequence {} at {}", sequence, value);
+        });
+    }
+
+    static String reseedSql(String sequence, List<String> tables) {
+        String maxIds = tables.stream()
+                .map(table -> "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + ")")
+                .collect(Collectors.joining(", "));
+        return "SELECT setval('" + sequence + "', GREATEST((SELECT last_value FROM " + sequence + "), "
+                + maxIds + "))";
+    }
+}
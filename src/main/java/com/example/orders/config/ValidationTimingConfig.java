@@ -0,0 +1,66 @@
+package com.example.orders.config;
+
+import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.service.OrderPipelineMetrics;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Validates @Valid request bodies as usual, and records the time spent on incoming orders
+ * under the validation stage of orders.ingest.stage
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ValidationTimingConfig implements WebMvcConfigurer {
+
+    private final Validator validator;
+    private final OrderPipelineMetrics pipelineMetrics;
+
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+        return new TimedValidator(new SpringValidatorAdapter(validator), pipelineMetrics);
+    }
+
+    private record TimedValidator(SmartValidator delegate, OrderPipelineMetrics pipelineMetrics)
+            implements SmartValidator {
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return delegate.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            time(target, () -> delegate.validate(target, errors));
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            time(target, () -> delegate.validate(target, errors, validationHints));
+        }
+
+        @Override
+        public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                                  Object... validationHints) {
+            delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            return delegate.unwrap(type);
+        }
+
+        private void time(Object target, Runnable validation) {
+            if (target instanceof ExternalOrderRequestDTO) {
+                pipelineMetrics.time(OrderPipelineMetrics.VALIDATION, validation);
+            } else {
+                validation.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.orders.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Binary alternatives to JSON
+ * Clients sending Accept: application/cbor or application/x-jackson-smile get the order
+ * endpoints in that format; JSON stays first so a wildcard Accept still gets JSON
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Bean
+    public CBORMapper cborMapper() {
+        return CBORMapper.builder().build();
+    }
+
+    @Bean
+    public SmileMapper smileMapper() {
+        return SmileMapper.builder().build();
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper()))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.orders.controller;
+
+import com.example.orders.dto.response.AdmissionStatsDTO;
+import com.example.orders.service.IngestionAdmission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/internal/admission")
+@RequiredArgsConstructor
+public class AdmissionController {
+
+    private final IngestionAdmission ingestionAdmission;
+
+    /**
+     * In-flight ingestions, dispatch backlog and rejection counts
+     * GET /api/internal/admission
+     */
+    @GetMapping
+    public ResponseEntity<AdmissionStatsDTO> admissionStats() {
+        return ResponseEntity.ok(ingestionAdmission.stats());
+    }
+}
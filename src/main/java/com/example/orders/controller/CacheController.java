@@ -0,0 +1,26 @@
+package com.example.orders.controller;
+
+import com.example.orders.dto.response.CacheStatsDTO;
+import com.example.orders.service.OrderResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/internal/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final OrderResponseCache orderResponseCache;
+
+    /**
+     * Size, hit, miss and eviction counts of the order response cache
+     * GET /api/internal/cache/orders
+     */
+    @GetMapping("/orders")
+    public ResponseEntity<CacheStatsDTO> orderCacheStats() {
+        return ResponseEntity.ok(orderResponseCache.stats());
+    }
+}
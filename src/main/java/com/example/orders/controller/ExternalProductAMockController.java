@@ -2,6 +2,7 @@ package com.example.orders.controller;
 
 import com.example.orders.dto.request.ExternalOrderRequestDTO;
 import com.example.orders.dto.response.OrderResponseDTO;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,15 +13,12 @@ import org.springframework.web.client.RestTemplate;
 
 @RestController
 @RequestMapping("/api/external-a")
+@RequiredArgsConstructor
 @Slf4j
 public class ExternalProductAMockController {
 
     private final RestTemplate restTemplate;
 
-    public ExternalProductAMockController() {
-        this.restTemplate = new RestTemplate();
-    }
-
     /**
      * Simulates External Product A sending an order
      */
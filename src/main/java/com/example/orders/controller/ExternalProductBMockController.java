@@ -1,24 +1,42 @@
 package com.example.orders.controller;
 
+import com.example.orders.dto.request.ProductBMockSettingsDTO;
 import com.example.orders.dto.response.OrderResponseDTO;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * Mock controller to simulate External Product B
- * This simulates the external system receiving processed orders
+ * This simulates the external system receiving processed orders, with the latency
+ * and failures configured in ProductBMockFaults
  */
 @RestController
 @RequestMapping("/api/external-b")
+@RequiredArgsConstructor
 @Slf4j
 public class ExternalProductBMockController {
 
+    private final ProductBMockFaults faults;
+
     @PostMapping("/orders")
-    public ResponseEntity<String> receiveOrder(@RequestBody OrderResponseDTO order) {
+    public ResponseEntity<String> receiveOrder(@RequestBody OrderResponseDTO order) throws InterruptedException {
+        HttpStatus status = faults.apply();
+        if (status != HttpStatus.OK) {
+            log.debug("Product B mock failing order {} with {}", order.getExternalOrderId(), status);
+            return ResponseEntity.status(status).body("Simulated failure");
+        }
+
         log.info("========================================");
         log.info("PRODUCT B RECEIVED ORDER");
         log.info("========================================");
@@ -30,4 +48,42 @@ public class ExternalProductBMockController {
 
         return ResponseEntity.ok("Order " + order.getExternalOrderId() + " received successfully by Product B");
     }
+
+    @PostMapping("/orders/batch")
+    public ResponseEntity<String> receiveOrders(@RequestBody List<OrderResponseDTO> orders) throws InterruptedException {
+        HttpStatus status = faults.apply();
+        if (status != HttpStatus.OK) {
+            log.debug("Product B mock failing batch of {} orders with {}", orders.size(), status);
+            return ResponseEntity.status(status).body("Simulated failure");
+        }
+
+        log.info("========================================");
+        log.info("PRODUCT B RECEIVED BATCH");
+        log.info("========================================");
+        log.info("Orders Count: {}", orders.size());
+        orders.forEach(order -> log.info("Order ID: {} - Total Value: {}",
+                order.getExternalOrderId(), order.getTotalValue()));
+        log.info("========================================");
+
+        return ResponseEntity.ok(orders.size() + " orders received successfully by Product B");
+    }
+
+    /**
+     * Current latency and fault settings
+     * GET /api/external-b/settings
+     */
+    @GetMapping("/settings")
+    public ProductBMockSettingsDTO getSettings() {
+        return faults.getSettings();
+    }
+
+    /**
+     * Changes latency and fault settings without a restart, e.g. in the middle of a load test
+     * PUT /api/external-b/settings
+     */
+    @PutMapping("/settings")
+    public ProductBMockSettingsDTO updateSettings(@RequestBody @Valid ProductBMockSettingsDTO settings) {
+        faults.update(settings);
+        return settings;
+    }
 }
@@ -1,21 +1,43 @@
 package com.example.orders.controller;
 
 import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.dto.response.AcceptedOrderDTO;
+import com.example.orders.dto.response.BatchOrderResponseDTO;
 import com.example.orders.dto.response.ErrorResponseDTO;
+import com.example.orders.dto.response.OrderPageResponseDTO;
 import com.example.orders.dto.response.OrderResponseDTO;
+import com.example.orders.dto.response.OrderStatsDTO;
+import com.example.orders.dto.response.ProductSalesDTO;
 import com.example.orders.exception.DuplicateOrderException;
+import com.example.orders.exception.InvalidCursorException;
+import com.example.orders.exception.OverloadedException;
+import com.example.orders.service.AsyncOrderIngestion;
+import com.example.orders.service.IngestionAdmission;
+import com.example.orders.service.OrderExportService;
+import com.example.orders.service.OrderStatistics;
+import com.example.orders.service.OrderStatusEvents;
 import com.example.orders.model.OrderStatus;
+import com.example.orders.service.OrderQueryService;
 import com.example.orders.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -24,19 +46,48 @@ import java.util.Optional;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderQueryService orderQueryService;
+    private final IngestionAdmission ingestionAdmission;
+    private final OrderExportService orderExportService;
+    private final OrderStatistics orderStatistics;
+    private final OrderStatusEvents orderStatusEvents;
+    private final AsyncOrderIngestion asyncOrderIngestion;
+
+    @Value("${orders.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize;
 
     /**
      * Endpoint to receive Orders from external product A
      * POST /api/orders
+     * Returns 201 with the stored order, or 202 with a status URL when async ingestion is enabled
      */
     @PostMapping
     public ResponseEntity<?> receiveOrder(@RequestBody @Valid ExternalOrderRequestDTO request) {
         log.info("Received order request: {}", request.getOrderId());
 
         try {
+            ingestionAdmission.admit();
+        } catch (OverloadedException e) {
+            log.warn("Order {} rejected: {}", request.getOrderId(), e.getMessage());
+            return overloaded(e);
+        }
+
+        try {
+            if (asyncOrderIngestion.isEnabled()) {
+                asyncOrderIngestion.submit(request);
+                return accepted(request.getOrderId());
+            }
+
             OrderResponseDTO response = orderService.processOrder(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+        } catch (OverloadedException e) {
+            log.warn("Order {} rejected: {}", request.getOrderId(), e.getMessage());
+            return overloaded(e);
+
         } catch (DuplicateOrderException e) {
             log.error("Duplicate order: {}", request.getOrderId());
 
@@ -60,6 +111,69 @@ public class OrderController {
                     .build();
 
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+
+        } finally {
+            ingestionAdmission.release();
+        }
+    }
+
+    /**
+     * Endpoint to receive many Orders at once from external product A
+     * POST /api/orders/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> receiveOrderBatch(@RequestBody List<ExternalOrderRequestDTO> requests) {
+        log.info("Received batch order request with {} orders", requests.size());
+
+        if (requests.size() > maxBatchSize) {
+            ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                    .message("Batch exceeds maximum size of " + maxBatchSize + " orders")
+                    .error("Bad Request")
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+
+        int permits;
+        try {
+            permits = ingestionAdmission.admit(requests.size());
+        } catch (OverloadedException e) {
+            log.warn("Batch of {} orders rejected: {}", requests.size(), e.getMessage());
+            return overloaded(e);
+        }
+
+        try {
+            BatchOrderResponseDTO response = orderService.processOrderBatch(requests);
+            return ResponseEntity.ok(response);
+
+        } catch (DuplicateOrderException e) {
+            log.error("Duplicate orders in batch: {}", e.getMessage());
+
+            ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                    .message(e.getMessage())
+                    .error("Duplicate Order")
+                    .status(HttpStatus.CONFLICT.value())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+
+        } catch (Exception e) {
+            log.error("Error processing batch of {} orders", requests.size(), e);
+
+            ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                    .message("Internal error processing order batch")
+                    .error("Internal Server Error")
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+
+        } finally {
+            ingestionAdmission.release(permits);
         }
     }
 
@@ -71,7 +185,7 @@ public class OrderController {
     public ResponseEntity<?> getOrder(@PathVariable String externalOrderId) {
         log.debug("Get order request: {}", externalOrderId);
 
-        Optional<OrderResponseDTO> orderOpt = orderService.findByExternalOrderId(externalOrderId);
+        Optional<OrderResponseDTO> orderOpt = orderQueryService.findByExternalOrderId(externalOrderId);
 
         if (orderOpt.isPresent()) {
             return ResponseEntity.ok(orderOpt.get());
@@ -88,17 +202,121 @@ public class OrderController {
     }
 
     /**
-     * Endpoint to list all Orders (or filter by status)
+     * Endpoint to list Orders page by page (optionally filtered by status)
      * GET /api/orders
-     * GET /api/orders?status=PROCESSED
+     * GET /api/orders?status=PROCESSED&size=100
+     * GET /api/orders?cursor={nextCursor}
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> listOrders(
-            @RequestParam(required = false) OrderStatus status) {
+    public ResponseEntity<?> listOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        log.debug("List orders request with status: {}, cursor: {}, size: {}", status, cursor, size);
+
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+
+        try {
+            OrderPageResponseDTO page = orderQueryService.listOrders(status, cursor, pageSize);
+            return ResponseEntity.ok(page);
+
+        } catch (InvalidCursorException e) {
+            ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                    .message(e.getMessage())
+                    .error("Bad Request")
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Endpoint to get the number and total value of Orders per status, served from memory
+     * GET /api/orders/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsDTO> getStats() {
+        return ResponseEntity.ok(orderStatistics.snapshot());
+    }
+
+    /**
+     * Endpoint to get the best-selling products by line value, aggregated by the database
+     * GET /api/orders/stats/products?limit=20
+     */
+    @GetMapping("/stats/products")
+    public ResponseEntity<List<ProductSalesDTO>> getProductStats(@RequestParam(defaultValue = "20") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, maxPageSize));
+        return ResponseEntity.ok(orderQueryService.topProducts(boundedLimit));
+    }
 
-        log.debug("List orders request with status: {}", status);
+    /**
+     * Endpoint to follow Order status changes as server-sent events instead of polling
+     * GET /api/orders/events
+     * GET /api/orders/events?status=SENT&status=ERROR
+     * Resumes after the Last-Event-ID header (sent by EventSource on reconnect) or the lastEventId parameter
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatusEvents(
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(required = false) Long lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader) {
+
+        Long resumeAfter = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        log.debug("Order events subscription with status: {}, last event ID: {}", status, resumeAfter);
+
+        SseEmitter emitter = orderStatusEvents.subscribe(status != null ? status : Set.of(), resumeAfter);
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Endpoint to export Orders as newline-delimited JSON (optionally filtered by status and creation time)
+     * GET /api/orders/export
+     * GET /api/orders/export?status=SENT&from=2025-12-01T00:00:00&to=2025-12-02T00:00:00
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("Export orders request with status: {}, from: {}, to: {}", status, from, to);
+
+        StreamingResponseBody body = out -> orderExportService.export(status, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private ResponseEntity<AcceptedOrderDTO> accepted(String orderId) {
+        URI statusUrl = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{externalOrderId}")
+                .buildAndExpand(orderId)
+                .toUri();
+
+        AcceptedOrderDTO response = AcceptedOrderDTO.builder()
+                .orderId(orderId)
+                .statusUrl(statusUrl.toString())
+                .acceptedAt(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.accepted().location(statusUrl).body(response);
+    }
+
+    private ResponseEntity<ErrorResponseDTO> overloaded(OverloadedException e) {
+        HttpStatus status = HttpStatus.valueOf(e.getStatus());
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .message(e.getMessage())
+                .error(status.getReasonPhrase())
+                .status(status.value())
+                .timestamp(LocalDateTime.now())
+                .build();
 
-        List<OrderResponseDTO> orders = orderService.listOrders(status);
-        return ResponseEntity.ok(orders);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
     }
 }
@@ -0,0 +1,28 @@
+package com.example.orders.controller;
+
+import com.example.orders.client.OutboundConnectionPoolMetrics;
+import com.example.orders.dto.response.ConnectionPoolStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/internal/http-client")
+@RequiredArgsConstructor
+public class OutboundHttpController {
+
+    private final OutboundConnectionPoolMetrics poolMetrics;
+
+    /**
+     * Open, active, idle and pending connections of each outbound pool
+     * GET /api/internal/http-client/pools
+     */
+    @GetMapping("/pools")
+    public ResponseEntity<List<ConnectionPoolStatsDTO>> listPools() {
+        return ResponseEntity.ok(poolMetrics.snapshot());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.orders.controller;
+
+import com.example.orders.dto.request.ProductBMockSettingsDTO;
+import com.example.orders.dto.request.ProductBMockSettingsDTO.LatencyDistribution;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency and fault injection for the Product B mock
+ * Every request sleeps for a latency sampled from the configured distribution, then
+ * errorRate of them fail with 500 and timeoutRate of them hang for timeoutMs and fail with 504
+ */
+@Component
+@Slf4j
+public class ProductBMockFaults {
+
+    /** z-score of the 99th percentile of a standard normal distribution */
+    private static final double Z_99 = 2.3263;
+
+    @Getter
+    private volatile ProductBMockSettingsDTO settings;
+
+    public ProductBMockFaults(@Value("${mock.product-b.latency.distribution:NONE}") LatencyDistribution distribution,
+                              @Value("${mock.product-b.latency.median-ms:0}") long medianMs,
+                              @Value("${mock.product-b.latency.p99-ms:0}") long p99Ms,
+                              @Value("${mock.product-b.latency.min-ms:0}") long minMs,
+                              @Value("${mock.product-b.latency.max-ms:0}") long maxMs,
+                              @Value("${mock.product-b.error-rate:0}") double errorRate,
+                              @Value("${mock.product-b.timeout-rate:0}") double timeoutRate,
+                              @Value("${mock.product-b.timeout-ms:15000}") long timeoutMs) {
+        update(new ProductBMockSettingsDTO(distribution, medianMs, p99Ms, minMs, maxMs, errorRate, timeoutRate, timeoutMs));
+    }
+
+    public void update(ProductBMockSettingsDTO settings) {
+        this.settings = settings;
+        log.info("Product B mock settings: {}", settings);
+    }
+
+    /**
+     * Waits like a real Product B would and returns the status to answer with
+     */
+    public HttpStatus apply() throws InterruptedException {
+        ProductBMockSettingsDTO current = settings;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        double roll = random.nextDouble();
+        if (roll < current.getTimeoutRate()) {
+            Thread.sleep(current.getTimeoutMs());
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+
+        Thread.sleep(sampleLatencyMs(current, random));
+        return roll < current.getTimeoutRate() + current.getErrorRate()
+                ? HttpStatus.INTERNAL_SERVER_ERROR
+                : HttpStatus.OK;
+    }
+
+    static long sampleLatencyMs(ProductBMockSettingsDTO settings, ThreadLocalRandom random) {
+        return switch (settings.getDistribution()) {
+            case NONE -> 0;
+            case FIXED -> settings.getMedianMs();
+            case UNIFORM -> settings.getMaxMs() > settings.getMinMs()
+                    ? random.nextLong(settings.getMinMs(), settings.getMaxMs() + 1)
+                    : settings.getMinMs();
+            case LOG_NORMAL -> {
+                if (settings.getMedianMs() <= 0) {
+                    yield 0;
+                }
+                // Fitted so that half the samples fall below medianMs and 99% below p99Ms
+                double sigma = settings.getP99Ms() > settings.getMedianMs()
+                        ? Math.log((double) settings.getP99Ms() / settings.getMedianMs()) / Z_99
+                        : 0;
+                yield Math.round(settings.getMedianMs() * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+    }
+}
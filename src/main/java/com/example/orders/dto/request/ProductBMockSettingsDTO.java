@@ -0,0 +1,58 @@
+package com.example.orders.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency and fault settings of the Product B mock
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBMockSettingsDTO {
+
+    public enum LatencyDistribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    @NotNull(message = "Latency distribution is required")
+    private LatencyDistribution distribution;
+
+    /** FIXED latency, LOG_NORMAL median */
+    @PositiveOrZero
+    private long medianMs;
+
+    /** LOG_NORMAL 99th percentile */
+    @PositiveOrZero
+    private long p99Ms;
+
+    /** UNIFORM bounds */
+    @PositiveOrZero
+    private long minMs;
+
+    @PositiveOrZero
+    private long maxMs;
+
+    /** Share of requests answered with 500 */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double errorRate;
+
+    /** Share of requests held for timeoutMs and then answered with 504 */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double timeoutRate;
+
+    @PositiveOrZero
+    private long timeoutMs;
+}
@@ -0,0 +1,19 @@
+package com.example.orders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AcceptedOrderDTO {
+
+    private String orderId;
+    private String statusUrl;
+    private LocalDateTime acceptedAt;
+}
@@ -0,0 +1,23 @@
+package com.example.orders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdmissionStatsDTO {
+
+    private int inFlight;
+    private int maxInFlight;
+    private long dispatchBacklog;
+    private long maxDispatchBacklog;
+    private int dispatchExecutorQueue;
+    private int productBInFlight;
+    private int productBWaiting;
+    private long rejectedInFlight;
+    private long rejectedBacklog;
+}
@@ -0,0 +1,7 @@
+package com.example.orders.dto.response;
+
+public enum BatchOrderOutcome {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
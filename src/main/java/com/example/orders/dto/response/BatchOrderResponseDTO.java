@@ -0,0 +1,20 @@
+package com.example.orders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResponseDTO {
+
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private List<BatchOrderResultDTO> results;
+}
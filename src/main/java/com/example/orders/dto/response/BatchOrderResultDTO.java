@@ -0,0 +1,18 @@
+package com.example.orders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResultDTO {
+
+    private String orderId;
+    private BatchOrderOutcome outcome;
+    private Long id;
+    private String message;
+}
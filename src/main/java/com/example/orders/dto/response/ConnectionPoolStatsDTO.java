@@ -0,0 +1,22 @@
+package com.example.orders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConnectionPoolStatsDTO {
+
+    private String pool;
+    private String remoteAddress;
+    private int open;
+    private int active;
+    private int idle;
+    private int pending;
+    private int maxConnections;
+    private int maxPending;
+}
@@ -0,0 +1,19 @@
+package com.example.orders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageResponseDTO {
+
+    private List<OrderResponseDTO> orders;
+    private int size;
+    private String nextCursor;
+}
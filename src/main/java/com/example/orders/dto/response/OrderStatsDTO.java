@@ -0,0 +1,23 @@
+package com.example.orders.dto.response;
+
+import com.example.orders.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatsDTO {
+
+    private Map<OrderStatus, StatusStatsDTO> byStatus;
+    private long totalCount;
+    private BigDecimal totalValue;
+    private LocalDateTime rebuiltAt;
+}
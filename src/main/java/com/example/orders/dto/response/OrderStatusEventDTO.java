@@ -0,0 +1,22 @@
+package com.example.orders.dto.response;
+
+import com.example.orders.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusEventDTO {
+
+    private long id;
+    private String externalOrderId;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private LocalDateTime occurredAt;
+}
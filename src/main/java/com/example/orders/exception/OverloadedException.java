@@ -0,0 +1,16 @@
+package com.example.orders.exception;
+
+import lombok.Getter;
+
+@Getter
+public class OverloadedException extends RuntimeException {
+
+    private final int status;
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, int status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
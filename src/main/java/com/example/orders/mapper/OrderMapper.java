@@ -6,17 +6,29 @@ import com.example.orders.dto.response.OrderItemResponseDTO;
 import com.example.orders.dto.response.OrderResponseDTO;
 import com.example.orders.dto.response.ProcessedOrderDTO;
 import com.example.orders.dto.response.ProcessedOrderItemDTO;
+import com.example.orders.model.Money;
 import com.example.orders.model.Order;
 import com.example.orders.model.OrderItem;
+import com.example.orders.repository.projection.OrderItemRow;
+import com.example.orders.repository.projection.OrderRow;
+import com.example.orders.repository.projection.ProductRow;
+import com.example.orders.service.ProductCatalog;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Product codes and names are resolved through ProductCatalog; register an order's products
+ * before mapping it with toOrder
+ */
 @Component
+@RequiredArgsConstructor
 public class OrderMapper {
 
+    private final ProductCatalog productCatalog;
+
     public Order toOrder(ExternalOrderRequestDTO dto) {
         Order order = new Order();
         order.setExternalOrderId(dto.getOrderId());
@@ -32,14 +44,16 @@ public class OrderMapper {
     private OrderItem toOrderItem(OrderItemRequestDTO dto, Order order) {
         OrderItem item = new OrderItem();
         item.setOrder(order);
-        item.setProductCode(dto.getProductCode());
-        item.setProductName(dto.getProductName());
+        item.setProductId(productCatalog.idOf(dto.getProductCode()));
         item.setUnitPrice(dto.getUnitPrice());
         item.setQuantity(dto.getQuantity());
+        item.setSubtotal(Money.lineTotal(dto.getUnitPrice(), dto.getQuantity()));
         return item;
     }
 
     public OrderResponseDTO toResponseDTO(Order order) {
+        warmProducts(order);
+
         List<OrderItemResponseDTO> itemDTOs = order.getItems().stream()
                 .map(this::toItemResponseDTO)
                 .collect(Collectors.toList());
@@ -56,20 +70,50 @@ public class OrderMapper {
     }
 
     private OrderItemResponseDTO toItemResponseDTO(OrderItem item) {
-        BigDecimal subtotal = item.getUnitPrice()
-                .multiply(BigDecimal.valueOf(item.getQuantity()));
-
+        ProductRow product = productCatalog.get(item.getProductId());
         return OrderItemResponseDTO.builder()
                 .id(item.getId())
-                .productCode(item.getProductCode())
-                .productName(item.getProductName())
+                .productCode(product.code())
+                .productName(product.name())
                 .unitPrice(item.getUnitPrice())
                 .quantity(item.getQuantity())
-                .subtotal(subtotal)
+                .subtotal(item.getSubtotal())
+                .build();
+    }
+
+    public OrderResponseDTO toResponseDTO(OrderRow order, List<OrderItemRow> items) {
+        productCatalog.warm(items.stream().map(OrderItemRow::productId).collect(Collectors.toSet()));
+
+        List<OrderItemResponseDTO> itemDTOs = items.stream()
+                .map(this::toItemResponseDTO)
+                .collect(Collectors.toList());
+
+        return OrderResponseDTO.builder()
+                .id(order.id())
+                .externalOrderId(order.externalOrderId())
+                .totalValue(order.totalValue())
+                .status(order.status())
+                .items(itemDTOs)
+                .createdAt(order.createdAt())
+                .updatedAt(order.updatedAt())
+                .build();
+    }
+
+    private OrderItemResponseDTO toItemResponseDTO(OrderItemRow item) {
+        ProductRow product = productCatalog.get(item.productId());
+        return OrderItemResponseDTO.builder()
+                .id(item.id())
+                .productCode(product.code())
+                .productName(product.name())
+                .unitPrice(item.unitPrice())
+                .quantity(item.quantity())
+                .subtotal(item.subtotal())
                 .build();
     }
 
     public ProcessedOrderDTO toProcessedOrderDTO(Order order) {
+        warmProducts(order);
+
         List<ProcessedOrderItemDTO> itemDTOs = order.getItems().stream()
                 .map(this::toProcessedOrderItemDTO)
                 .collect(Collectors.toList());
@@ -82,16 +126,21 @@ public class OrderMapper {
                 .build();
     }
 
-    private ProcessedOrderItemDTO toProcessedOrderItemDTO(OrderItem item) {
-        BigDecimal subtotal = item.getUnitPrice()
-                .multiply(BigDecimal.valueOf(item.getQuantity()));
+    /**
+     * Loads the order's products missing from the catalog with one query, instead of one per item
+     */
+    private void warmProducts(Order order) {
+        productCatalog.warm(order.getItems().stream().map(OrderItem::getProductId).collect(Collectors.toSet()));
+    }
 
+    private ProcessedOrderItemDTO toProcessedOrderItemDTO(OrderItem item) {
+        ProductRow product = productCatalog.get(item.getProductId());
         return ProcessedOrderItemDTO.builder()
-                .productCode(item.getProductCode())
-                .productName(item.getProductName())
+                .productCode(product.code())
+                .productName(product.name())
                 .quantity(item.getQuantity())
                 .unitPrice(item.getUnitPrice())
-                .subtotal(subtotal)
+                .subtotal(item.getSubtotal())
                 .build();
     }
 }
@@ -0,0 +1,51 @@
+package com.example.orders.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A finished order moved out of the hot orders table by OrderArchiver
+ * Keeps the original ID; written and read only through OrderArchiveRepository
+ */
+@Entity
+@Table(name = "orders_archive", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_archive_external_order_id", columnNames = "external_order_id")
+}, indexes = {
+        @Index(name = "idx_orders_archive_created_at_id", columnList = "created_at, id")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(name = "external_order_id", nullable = false)
+    private String externalOrderId;
+
+    @Column(name = "total_value", precision = 10, scale = 2)
+    private BigDecimal totalValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
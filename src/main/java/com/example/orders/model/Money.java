@@ -0,0 +1,99 @@
+package com.example.orders.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Money arithmetic on long minor units (cents) for the order hot path
+ * Results are rounded HALF_UP to the scale of the precision 10, scale 2 columns, which is
+ * what PostgreSQL does when the values are stored. Amounts that are not whole cents or
+ * results that overflow a long fall back to exact BigDecimal arithmetic.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    /** Marks an amount that cannot be represented as a long number of cents */
+    private static final long NOT_CENTS = Long.MIN_VALUE;
+
+    /** Long cents hold at most 18 digits without overflow */
+    private static final int MAX_CENTS_PRECISION = 18;
+
+    private Money() {
+    }
+
+    /**
+     * unitPrice * quantity, rounded to scale 2
+     */
+    public static BigDecimal lineTotal(BigDecimal unitPrice, int quantity) {
+        long unitCents = toCents(unitPrice);
+        if (unitCents != NOT_CENTS) {
+            long cents = multiply(unitCents, quantity);
+            if (cents != NOT_CENTS) {
+                return BigDecimal.valueOf(cents, SCALE);
+            }
+        }
+        return unitPrice.multiply(BigDecimal.valueOf(quantity)).setScale(SCALE, ROUNDING);
+    }
+
+    /**
+     * Sum of the items' stored subtotals
+     */
+    public static BigDecimal total(List<OrderItem> items) {
+        long cents = 0;
+        for (OrderItem item : items) {
+            long lineCents = toCents(item.getSubtotal());
+            cents = lineCents == NOT_CENTS ? NOT_CENTS : add(cents, lineCents);
+            if (cents == NOT_CENTS) {
+                return exactTotal(items);
+            }
+        }
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    private static BigDecimal exactTotal(List<OrderItem> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            total = total.add(item.getSubtotal());
+        }
+        return total.setScale(SCALE, ROUNDING);
+    }
+
+    /**
+     * The amount in cents, rounded to scale 2; throws ArithmeticException if it does not fit a long
+     */
+    public static long cents(BigDecimal amount) {
+        long cents = toCents(amount);
+        return cents != NOT_CENTS ? cents : amount.setScale(SCALE, ROUNDING).unscaledValue().longValueExact();
+    }
+
+    /**
+     * The amount in cents, or NOT_CENTS if it has fractions of a cent or is too large
+     */
+    static long toCents(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale < 0 || scale > SCALE || amount.precision() > MAX_CENTS_PRECISION) {
+            return NOT_CENTS;
+        }
+        long unscaled = amount.unscaledValue().longValue();
+        return scale == SCALE ? unscaled : multiply(unscaled, scale == 0 ? 100 : 10);
+    }
+
+    private static long multiply(long cents, long factor) {
+        long result = cents * factor;
+        if (Math.multiplyHigh(cents, factor) != (result >> 63) || result == NOT_CENTS) {
+            return NOT_CENTS;
+        }
+        return result;
+    }
+
+    private static long add(long a, long b) {
+        long result = a + b;
+        if (((a ^ result) & (b ^ result)) < 0 || result == NOT_CENTS) {
+            return NOT_CENTS;
+        }
+        return result;
+    }
+}
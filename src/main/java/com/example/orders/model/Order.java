@@ -2,8 +2,10 @@ package com.example.orders.model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,17 +13,32 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
-@Data
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = Order.EXTERNAL_ORDER_ID_CONSTRAINT, columnNames = "external_order_id")
+}, indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_status_created_at_id", columnList = "status, created_at, id")
+})
+@Getter
+@Setter
+@ToString(exclude = "items")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
+    public static final String EXTERNAL_ORDER_ID_CONSTRAINT = "uk_orders_external_order_id";
+
+    /**
+     * Key of order_external_ids, claimed by a trigger on insert and kept when the order is archived
+     */
+    public static final String CLAIMED_EXTERNAL_ORDER_ID_CONSTRAINT = "order_external_ids_pkey";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
-    @Column(name = "external_order_id", unique = true, nullable = false)
+    @Column(name = "external_order_id", nullable = false)
     private String externalOrderId;
 
     @Column(name = "total_value", precision = 10, scale = 2)
@@ -2,31 +2,38 @@ package com.example.orders.model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_items")
-@Data
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_order_id", columnList = "order_id")
+})
+@Getter
+@Setter
+@ToString(exclude = "order")
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
-    @Column(name = "product_code", nullable = false)
-    private String productCode;
-
-    @Column(name = "product_name")
-    private String productName;
+    /**
+     * References products.id; code and name are resolved through ProductCatalog
+     */
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
 
     @Column(name = "unit_price", precision = 10, scale = 2, nullable = false)
     private BigDecimal unitPrice;
@@ -34,4 +41,10 @@ public class OrderItem {
     @Column(nullable = false)
     private Integer quantity;
 
+    /**
+     * unitPrice * quantity rounded to scale 2, computed once at ingest
+     */
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal subtotal;
+
 }
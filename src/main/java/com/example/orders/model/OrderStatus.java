@@ -1,8 +1,36 @@
 package com.example.orders.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     RECEIVED,
     PROCESSED,
     SENT,
-    ERROR
+    ERROR;
+
+    /**
+     * Statuses an order may move to this status from
+     * SENT is final, so a late ERROR can never overwrite it
+     */
+    public Set<OrderStatus> allowedFrom() {
+        return switch (this) {
+            case RECEIVED -> EnumSet.noneOf(OrderStatus.class);
+            case PROCESSED -> EnumSet.of(RECEIVED);
+            case SENT -> EnumSet.of(PROCESSED, ERROR);
+            case ERROR -> EnumSet.of(PROCESSED, ERROR);
+        };
+    }
+
+    public boolean canTransitionFrom(OrderStatus current) {
+        return allowedFrom().contains(current);
+    }
+
+    /**
+     * The status an order ends up in when next arrives after current: next if it may follow
+     * current, otherwise current. Merging with this never lets ERROR replace SENT.
+     */
+    public static OrderStatus dominant(OrderStatus current, OrderStatus next) {
+        return next == current || next.canTransitionFrom(current) ? next : current;
+    }
 }
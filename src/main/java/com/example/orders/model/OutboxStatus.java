@@ -0,0 +1,8 @@
+package com.example.orders.model;
+
+public enum OutboxStatus {
+    PENDING,
+    IN_FLIGHT,
+    SENT,
+    ERROR
+}
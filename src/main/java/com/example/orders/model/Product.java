@@ -0,0 +1,34 @@
+package com.example.orders.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Product dimension: one row per product code, referenced by order items through product_id
+ * Rows are only ever inserted, by ProductRepository.insertIfAbsent
+ */
+@Entity
+@Table(name = "products", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_products_code", columnNames = "code")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class Product {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String code;
+
+    @Column
+    private String name;
+}
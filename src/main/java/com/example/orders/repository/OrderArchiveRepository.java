@@ -0,0 +1,98 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.ArchivedOrder;
+import com.example.orders.repository.projection.OrderItemRow;
+import com.example.orders.repository.projection.OrderRow;
+import com.example.orders.repository.projection.StatusTotals;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold storage for finished orders: moves rows out of the hot tables and reads them back
+ */
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    /**
+     * Locks the next batch of SENT orders created before the cutoff, oldest first
+     */
+    @Query(value = """
+            SELECT id FROM orders
+            WHERE status = 'SENT' AND created_at < :cutoff
+            ORDER BY created_at, id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockArchivable(@Param("cutoff") LocalDateTime cutoff,
+                              @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM order_items WHERE order_id IN (:orderIds)
+                RETURNING id, order_id, product_id, unit_price, quantity, subtotal
+            )
+            INSERT INTO order_items_archive (id, order_id, product_id, unit_price, quantity, subtotal)
+            SELECT id, order_id, product_id, unit_price, quantity, subtotal FROM moved
+            """, nativeQuery = true)
+    int moveItems(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM orders WHERE id IN (:orderIds)
+                RETURNING id, external_order_id, total_value, status, created_at, updated_at
+            )
+            INSERT INTO orders_archive (id, external_order_id, total_value, status, created_at, updated_at, archived_at)
+            SELECT id, external_order_id, total_value, status, created_at, updated_at, :now FROM moved
+            """, nativeQuery = true)
+    int moveOrders(@Param("orderIds") Collection<Long> orderIds,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Delivered outbox rows are only history once their order is archived
+     */
+    @Modifying
+    @Query(value = "DELETE FROM order_outbox WHERE order_id IN (:orderIds) AND status = 'SENT'", nativeQuery = true)
+    int deleteDeliveredOutbox(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM ArchivedOrder o WHERE o.externalOrderId = :externalOrderId")
+    Optional<OrderRow> findRowByExternalOrderId(@Param("externalOrderId") String externalOrderId);
+
+    /**
+     * Keyset pages over the archive, in the same order as OrderRepository's, so the two can be merged
+     */
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM ArchivedOrder o ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderRow> findFirstPage(Pageable pageable);
+
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM ArchivedOrder o " +
+            "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderRow> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
+    @Query("SELECT new com.example.orders.repository.projection.OrderItemRow(" +
+            "i.orderId, i.id, i.productId, i.unitPrice, i.quantity, i.subtotal) " +
+            "FROM ArchivedOrderItem i WHERE i.orderId IN :orderIds ORDER BY i.id")
+    List<OrderItemRow> findItemRowsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT new com.example.orders.repository.projection.StatusTotals(o.status, COUNT(o), SUM(o.totalValue)) " +
+            "FROM ArchivedOrder o GROUP BY o.status")
+    List<StatusTotals> sumByStatus();
+}
@@ -0,0 +1,29 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.OrderItem;
+import com.example.orders.repository.projection.OrderItemRow;
+import com.example.orders.repository.projection.ProductSales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    @Query("SELECT new com.example.orders.repository.projection.OrderItemRow(" +
+            "i.order.id, i.id, i.productId, i.unitPrice, i.quantity, i.subtotal) " +
+            "FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemRow> findRowsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Sum of stored line values per product, aggregated in the database, best-selling first
+     */
+    @Query("SELECT new com.example.orders.repository.projection.ProductSales(p.code, SUM(i.quantity), SUM(i.subtotal)) " +
+            "FROM OrderItem i JOIN Product p ON p.id = i.productId GROUP BY p.code ORDER BY SUM(i.subtotal) DESC")
+    List<ProductSales> sumSubtotalsByProduct(Pageable pageable);
+}
@@ -2,23 +2,105 @@ package com.example.orders.repository;
 
 import com.example.orders.model.Order;
 import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.projection.OrderRow;
+import com.example.orders.repository.projection.StatusTotals;
+import com.example.orders.repository.projection.TransitionedOrder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    Optional<Order> findByExternalOrderId(String externalOrderId);
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.externalOrderId = :externalOrderId")
+    Optional<OrderRow> findRowByExternalOrderId(@Param("externalOrderId") String externalOrderId);
 
-    boolean existsByExternalOrderId(String externalOrderId);
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<OrderRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
 
-    List<Order> findByStatus(OrderStatus status);
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderRow> findFirstPage(Pageable pageable);
 
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.externalOrderId = :externalOrderId")
-    Optional<Order> findByExternalOrderIdWithItems(@Param("externalOrderId") String externalOrderId);
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o " +
+            "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderRow> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.status = :status ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderRow> findFirstPageByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query("SELECT new com.example.orders.repository.projection.OrderRow(" +
+            "o.id, o.externalOrderId, o.totalValue, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o " +
+            "WHERE o.status = :status " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderRow> findPageByStatusAfter(@Param("status") OrderStatus status,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    /**
+     * IDs already taken by a hot or archived order, from the key table the insert trigger fills
+     */
+    @Query(value = "SELECT external_order_id FROM order_external_ids WHERE external_order_id IN (:externalOrderIds)",
+            nativeQuery = true)
+    List<String> findClaimedExternalOrderIds(@Param("externalOrderIds") Collection<String> externalOrderIds);
+
+    /**
+     * Conditional transition: only rows currently in one of the from statuses are updated
+     * Still a single statement; the CTE locks the matching rows so RETURNING can report
+     * the status each one had before the update
+     */
+    @Query(value = """
+            WITH previous AS (
+                SELECT id, external_order_id, status, total_value FROM orders
+                WHERE external_order_id IN (:externalOrderIds) AND status IN (:from)
+                FOR UPDATE
+            )
+            UPDATE orders o SET status = :status, updated_at = :now
+            FROM previous p
+            WHERE o.id = p.id
+            RETURNING p.external_order_id AS "externalOrderId", p.status AS "previousStatus",
+                      p.total_value AS "totalValue"
+            """, nativeQuery = true)
+    List<TransitionedOrder> transitionAll(@Param("externalOrderIds") Collection<String> externalOrderIds,
+                                          @Param("status") String status,
+                                          @Param("from") Collection<String> from,
+                                          @Param("now") LocalDateTime now);
+
+    /**
+     * Moves the orders to status from any status in OrderStatus.allowedFrom()
+     */
+    default List<TransitionedOrder> transitionAll(Collection<String> externalOrderIds, OrderStatus status,
+                                                  LocalDateTime now) {
+        List<String> from = status.allowedFrom().stream().map(OrderStatus::name).toList();
+        if (externalOrderIds.isEmpty() || from.isEmpty()) {
+            return List.of();
+        }
+        return transitionAll(externalOrderIds, status.name(), from, now);
+    }
+
+    @Query("SELECT new com.example.orders.repository.projection.StatusTotals(o.status, COUNT(o), SUM(o.totalValue)) " +
+            "FROM Order o GROUP BY o.status")
+    List<StatusTotals> sumByStatus();
 }
@@ -0,0 +1,72 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.OutboxEvent;
+import com.example.orders.model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next batch of deliverable rows. PENDING rows waiting for a retry are
+     * skipped until next_attempt_at, and rows left IN_FLIGHT by a crashed dispatcher
+     * become claimable again once they are older than staleBefore.
+     * SKIP LOCKED lets several instances poll the same table without blocking.
+     */
+    @Query(value = """
+            SELECT * FROM order_outbox
+            WHERE (status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :now))
+               OR (status = 'IN_FLIGHT' AND updated_at < :staleBefore)
+            ORDER BY id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> findClaimable(@Param("now") LocalDateTime now,
+                                    @Param("staleBefore") LocalDateTime staleBefore,
+                                    @Param("batchSize") int batchSize);
+
+    List<OutboxEvent> findByExternalOrderIdInAndStatus(Collection<String> externalOrderIds, OutboxStatus status);
+
+    /**
+     * Puts a batch of ERROR rows back in the queue with a fresh attempt budget
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE order_outbox
+            SET status = 'PENDING', attempts = 0, redrives = redrives + 1, next_attempt_at = NULL, updated_at = :now
+            WHERE id IN (
+                SELECT id FROM order_outbox
+                WHERE status = 'ERROR' AND redrives < :maxRedrives
+                ORDER BY id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int redrive(@Param("maxRedrives") int maxRedrives,
+                @Param("batchSize") int batchSize,
+                @Param("now") LocalDateTime now);
+
+    long countByStatusIn(Collection<OutboxStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = e.attempts + 1, e.updatedAt = :now " +
+            "WHERE e.id IN :ids")
+    int markClaimed(@Param("ids") Collection<Long> ids,
+                    @Param("status") OutboxStatus status,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.updatedAt = :now " +
+            "WHERE e.externalOrderId IN :externalOrderIds AND e.status = com.example.orders.model.OutboxStatus.IN_FLIGHT")
+    int markCompleted(@Param("externalOrderIds") Collection<String> externalOrderIds,
+                      @Param("status") OutboxStatus status,
+                      @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,32 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Product;
+import com.example.orders.repository.projection.ProductRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Integer> {
+
+    @Query("SELECT new com.example.orders.repository.projection.ProductRow(p.id, p.code, p.name) " +
+            "FROM Product p WHERE p.code IN :codes")
+    List<ProductRow> findRowsByCodeIn(@Param("codes") Collection<String> codes);
+
+    @Query("SELECT new com.example.orders.repository.projection.ProductRow(p.id, p.code, p.name) " +
+            "FROM Product p WHERE p.id IN :ids")
+    List<ProductRow> findRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Waits for a concurrent insert of the same code and then does nothing, instead of failing
+     */
+    @Modifying
+    @Query(value = "INSERT INTO products (code, name) VALUES (:code, :name) ON CONFLICT (code) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("code") String code, @Param("name") String name);
+}
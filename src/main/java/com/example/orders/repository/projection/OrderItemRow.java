@@ -0,0 +1,16 @@
+package com.example.orders.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only view of an order item row, grouped by orderId after an IN load
+ */
+public record OrderItemRow(
+        Long orderId,
+        Long id,
+        Integer productId,
+        BigDecimal unitPrice,
+        Integer quantity,
+        BigDecimal subtotal
+) {
+}
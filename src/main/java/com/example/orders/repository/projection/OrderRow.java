@@ -0,0 +1,19 @@
+package com.example.orders.repository.projection;
+
+import com.example.orders.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an order row, selected without hydrating the entity
+ */
+public record OrderRow(
+        Long id,
+        String externalOrderId,
+        BigDecimal totalValue,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
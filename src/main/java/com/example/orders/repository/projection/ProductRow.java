@@ -0,0 +1,11 @@
+package com.example.orders.repository.projection;
+
+/**
+ * Read-only view of a product row, as held by ProductCatalog
+ */
+public record ProductRow(
+        Integer id,
+        String code,
+        String name
+) {
+}
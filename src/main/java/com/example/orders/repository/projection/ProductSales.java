@@ -0,0 +1,13 @@
+package com.example.orders.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Units and line value sold for one product code
+ */
+public record ProductSales(
+        String productCode,
+        Long quantity,
+        BigDecimal value
+) {
+}
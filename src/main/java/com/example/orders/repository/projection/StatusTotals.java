@@ -0,0 +1,15 @@
+package com.example.orders.repository.projection;
+
+import com.example.orders.model.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and total value of the orders in one status
+ */
+public record StatusTotals(
+        OrderStatus status,
+        long count,
+        BigDecimal totalValue
+) {
+}
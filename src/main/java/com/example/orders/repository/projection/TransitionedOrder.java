@@ -0,0 +1,15 @@
+package com.example.orders.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * An order moved by a conditional transition, with the status it had before
+ */
+public interface TransitionedOrder {
+
+    String getExternalOrderId();
+
+    String getPreviousStatus();
+
+    BigDecimal getTotalValue();
+}
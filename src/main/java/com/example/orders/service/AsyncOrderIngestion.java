@@ -0,0 +1,224 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.dto.response.BatchOrderOutcome;
+import com.example.orders.dto.response.BatchOrderResponseDTO;
+import com.example.orders.dto.response.BatchOrderResultDTO;
+import com.example.orders.exception.DuplicateOrderException;
+import com.example.orders.exception.OverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional 202-Accepted ingestion with group commit
+ * Orders are validated and checked against the duplicate filter on the request thread, then
+ * queued; writer threads commit them groupSize at a time through the batch path, flushing a
+ * smaller group once groupMaxWait has passed. queueCapacity bounds every accepted order not yet
+ * committed, including the groups the writers are committing; the request thread only holds its
+ * IngestionAdmission slot while it queues the order. Orders still queued when the JVM dies are
+ * lost, which is why this is off by default.
+ */
+@Component
+@Slf4j
+public class AsyncOrderIngestion implements MeterBinder {
+
+    /** How often an idle writer checks whether it should stop */
+    private static final long IDLE_POLL_MS = 100;
+
+    private final OrderService orderService;
+
+    @Getter
+    private final boolean enabled;
+    private final int writers;
+    private final int groupSize;
+    private final long groupMaxWaitNanos;
+    private final long retryAfterSeconds;
+    private final BlockingQueue<ExternalOrderRequestDTO> queue;
+    private final Semaphore uncommitted;
+
+    private final List<Thread> writerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong rejectedFull = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile DistributionSummary groupSizes;
+
+    public AsyncOrderIngestion(OrderService orderService,
+                               @Value("${orders.ingest.async.enabled:false}") boolean enabled,
+                               @Value("${orders.ingest.async.queue-capacity:10000}") int queueCapacity,
+                               @Value("${orders.ingest.async.writers:2}") int writers,
+                               @Value("${orders.ingest.async.group-size:200}") int groupSize,
+                               @Value("${orders.ingest.async.group-max-wait-ms:5}") long groupMaxWaitMs,
+                               @Value("${orders.admission.retry-after-seconds:2}") long retryAfterSeconds) {
+        if (groupSize > queueCapacity) {
+            throw new IllegalStateException("orders.ingest.async.group-size (" + groupSize
+                    + ") must not exceed orders.ingest.async.queue-capacity (" + queueCapacity + ")");
+        }
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.writers = writers;
+        this.groupSize = groupSize;
+        this.groupMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(groupMaxWaitMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.uncommitted = new Semaphore(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 1; i <= writers; i++) {
+            Thread writer = new Thread(this::runWriter, "order-writer-" + i);
+            writer.start();
+            writerThreads.add(writer);
+        }
+        log.info("Async ingestion started - writers: {}, group size: {}, queue: {}",
+                writers, groupSize, queue.remainingCapacity());
+    }
+
+    /**
+     * Queues an order validated by the controller; throws DuplicateOrderException, or
+     * OverloadedException (503) when queueCapacity orders are already waiting to be committed
+     * or the service is shutting down
+     */
+    public void submit(ExternalOrderRequestDTO request) {
+        orderService.checkAcceptable(request);
+
+        if (!running || !uncommitted.tryAcquire()) {
+            rejectedFull.incrementAndGet();
+            throw new OverloadedException("Ingestion queue is full, retry later",
+                    HttpStatus.SERVICE_UNAVAILABLE.value(), retryAfterSeconds);
+        }
+        // Never full: the queue holds at most as many orders as there are permits
+        queue.add(request);
+    }
+
+    private void runWriter() {
+        List<ExternalOrderRequestDTO> group = new ArrayList<>(groupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ExternalOrderRequestDTO first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fill(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Async writer failed on a group of {} orders", group.size(), e);
+            } finally {
+                uncommitted.release(group.size());
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Takes whatever is already queued, then waits for more until the group is full or
+     * groupMaxWait has passed since its first order
+     */
+    private void fill(List<ExternalOrderRequestDTO> group) throws InterruptedException {
+        long deadline = System.nanoTime() + groupMaxWaitNanos;
+        while (group.size() < groupSize) {
+            queue.drainTo(group, groupSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= groupSize || remaining <= 0) {
+                return;
+            }
+            ExternalOrderRequestDTO next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<ExternalOrderRequestDTO> group) {
+        if (groupSizes != null) {
+            groupSizes.record(group.size());
+        }
+        try {
+            BatchOrderResponseDTO response = orderService.processOrderBatch(group);
+            for (BatchOrderResultDTO result : response.getResults()) {
+                if (result.getOutcome() != BatchOrderOutcome.CREATED) {
+                    // Accepted twice before the first copy was committed
+                    log.warn("Accepted order {} not created: {}", result.getOrderId(), result.getMessage());
+                }
+            }
+        } catch (DuplicateOrderException e) {
+            // Collided with an order created concurrently; commit the group one order at a time
+            log.warn("Group of {} orders collided with a concurrent insert, committing one by one", group.size());
+            group.forEach(this::commitOne);
+        } catch (RuntimeException e) {
+            failed.addAndGet(group.size());
+            log.error("Failed to commit {} accepted orders: {}", group.size(),
+                    group.stream().map(ExternalOrderRequestDTO::getOrderId).toList(), e);
+        }
+    }
+
+    private void commitOne(ExternalOrderRequestDTO request) {
+        try {
+            orderService.processOrder(request);
+        } catch (DuplicateOrderException e) {
+            log.warn("Accepted order {} not created: {}", request.getOrderId(), e.getMessage());
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Failed to commit accepted order {}", request.getOrderId(), e);
+        }
+    }
+
+    /**
+     * Stops accepting orders and lets the writers commit what is already queued
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        log.info("Async ingestion stopping, {} orders still queued", queue.size());
+        for (Thread writer : writerThreads) {
+            writer.join();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.ingest.async.queue", queue, BlockingQueue::size)
+                .description("Accepted orders waiting for a writer")
+                .register(registry);
+        groupSizes = DistributionSummary.builder("orders.ingest.async.group.size")
+                .description("Orders committed per group")
+                .register(registry);
+        FunctionCounter.builder("orders.ingest.async.rejected", rejectedFull, AtomicLong::get)
+                .description("Orders rejected because the ingestion queue was full")
+                .register(registry);
+        FunctionCounter.builder("orders.ingest.async.failed", failed, AtomicLong::get)
+                .description("Accepted orders that could not be committed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.orders.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded in-memory set of external order IDs known to exist in the database
+ * Lets retried duplicates be rejected without a database round trip. Only IDs that were
+ * committed (or reported as duplicates by the unique constraint) are remembered, so a hit
+ * is always a real duplicate. Oldest IDs are evicted first once maxSize is reached.
+ */
+@Component
+@Slf4j
+public class DuplicateOrderFilter {
+
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxSize;
+
+    public DuplicateOrderFilter(@Value("${orders.dedupe.cache-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+        log.info("Duplicate order filter initialized - max size: {}", maxSize);
+    }
+
+    public boolean contains(String externalOrderId) {
+        return seen.contains(externalOrderId);
+    }
+
+    public void add(String externalOrderId) {
+        if (seen.add(externalOrderId)) {
+            insertionOrder.add(externalOrderId);
+            evict();
+        }
+    }
+
+    public void addAll(Collection<String> externalOrderIds) {
+        externalOrderIds.forEach(this::add);
+    }
+
+    public int size() {
+        return seen.size();
+    }
+
+    private void evict() {
+        while (seen.size() > maxSize) {
+            String eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            seen.remove(eldest);
+        }
+    }
+}
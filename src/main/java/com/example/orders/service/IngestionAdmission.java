@@ -0,0 +1,139 @@
+package com.example.orders.service;
+
+import com.example.orders.client.DownstreamLimiter;
+import com.example.orders.dto.response.AdmissionStatsDTO;
+import com.example.orders.exception.OverloadedException;
+import com.example.orders.model.OutboxStatus;
+import com.example.orders.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for order ingestion
+ * Rejects new orders fast once too many are being ingested (429) or once the Product B
+ * dispatch backlog is too deep (503), instead of letting latency build up for everyone
+ */
+@Component
+@Slf4j
+public class IngestionAdmission implements MeterBinder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Executor productBExecutor;
+    private final DownstreamLimiter productBLimiter;
+
+    private final int maxInFlight;
+    private final long maxDispatchBacklog;
+    private final long retryAfterSeconds;
+    private final Semaphore inFlight;
+
+    private final AtomicLong dispatchBacklog = new AtomicLong();
+    private final AtomicLong rejectedInFlight = new AtomicLong();
+    private final AtomicLong rejectedBacklog = new AtomicLong();
+
+    public IngestionAdmission(OutboxEventRepository outboxEventRepository,
+                              @Qualifier("productBExecutor") Executor productBExecutor,
+                              DownstreamLimiter productBLimiter,
+                              @Value("${orders.admission.max-in-flight:100}") int maxInFlight,
+                              @Value("${orders.admission.max-dispatch-backlog:10000}") long maxDispatchBacklog,
+                              @Value("${orders.admission.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.productBExecutor = productBExecutor;
+        this.productBLimiter = productBLimiter;
+        this.maxInFlight = maxInFlight;
+        this.maxDispatchBacklog = maxDispatchBacklog;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Takes an ingestion slot or throws OverloadedException; callers must release() after admit()
+     */
+    public void admit() {
+        admit(1);
+    }
+
+    /**
+     * Takes one slot per order, capped at maxInFlight so that any batch can be admitted on an
+     * idle instance; returns the number taken, which the caller must pass to release(int)
+     */
+    public int admit(int orders) {
+        if (dispatchBacklog.get() >= maxDispatchBacklog) {
+            rejectedBacklog.addAndGet(orders);
+            throw new OverloadedException("Product B dispatch backlog is full, retry later",
+                    HttpStatus.SERVICE_UNAVAILABLE.value(), retryAfterSeconds);
+        }
+        int permits = Math.max(1, Math.min(orders, maxInFlight));
+        if (!inFlight.tryAcquire(permits)) {
+            rejectedInFlight.addAndGet(orders);
+            throw new OverloadedException("Too many orders in flight, retry later",
+                    HttpStatus.TOO_MANY_REQUESTS.value(), retryAfterSeconds);
+        }
+        return permits;
+    }
+
+    public void release() {
+        release(1);
+    }
+
+    public void release(int permits) {
+        inFlight.release(permits);
+    }
+
+    /**
+     * Outbox rows not yet delivered, refreshed in the background so admit() never queries
+     */
+    @Scheduled(fixedDelayString = "${orders.admission.backlog-refresh-ms:1000}")
+    public void refreshDispatchBacklog() {
+        long backlog = outboxEventRepository.countByStatusIn(EnumSet.of(OutboxStatus.PENDING, OutboxStatus.IN_FLIGHT));
+        if (backlog >= maxDispatchBacklog && dispatchBacklog.get() < maxDispatchBacklog) {
+            log.warn("Dispatch backlog reached {} orders, rejecting new orders", backlog);
+        }
+        dispatchBacklog.set(backlog);
+    }
+
+    public AdmissionStatsDTO stats() {
+        return AdmissionStatsDTO.builder()
+                .inFlight(maxInFlight - inFlight.availablePermits())
+                .maxInFlight(maxInFlight)
+                .dispatchBacklog(dispatchBacklog.get())
+                .maxDispatchBacklog(maxDispatchBacklog)
+                .dispatchExecutorQueue(productBExecutor instanceof ThreadPoolTaskExecutor pool ? pool.getQueueSize() : 0)
+                .productBInFlight(productBLimiter.getInFlight())
+                .productBWaiting(productBLimiter.getWaiting())
+                .rejectedInFlight(rejectedInFlight.get())
+                .rejectedBacklog(rejectedBacklog.get())
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.admission.in-flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .description("Orders currently being ingested")
+                .register(registry);
+        Gauge.builder("orders.admission.dispatch-backlog", dispatchBacklog, AtomicLong::get)
+                .description("Outbox rows not yet delivered to Product B")
+                .register(registry);
+        FunctionCounter.builder("orders.admission.rejected", rejectedInFlight, AtomicLong::get)
+                .description("Orders rejected by admission control")
+                .tag("reason", "in_flight")
+                .register(registry);
+        FunctionCounter.builder("orders.admission.rejected", rejectedBacklog, AtomicLong::get)
+                .description("Orders rejected by admission control")
+                .tag("reason", "dispatch_backlog")
+                .register(registry);
+    }
+}
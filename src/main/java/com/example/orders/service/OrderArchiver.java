@@ -0,0 +1,78 @@
+package com.example.orders.service;
+
+import com.example.orders.repository.OrderArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves SENT orders older than the configured age, with their items, into the archive tables
+ * Each batch is its own short transaction so the hot tables are never locked for long;
+ * one run stops after maxBatchesPerRun batches and continues on the next tick
+ */
+@Component
+@Slf4j
+public class OrderArchiver {
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration sentOlderThan;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public OrderArchiver(OrderArchiveRepository orderArchiveRepository,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${orders.archive.enabled:true}") boolean enabled,
+                         @Value("${orders.archive.sent-older-than-days:7}") long sentOlderThanDays,
+                         @Value("${orders.archive.batch-size:500}") int batchSize,
+                         @Value("${orders.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.sentOlderThan = Duration.ofDays(sentOlderThanDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.archive.interval-ms:60000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(sentOlderThan);
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = archiveBatch(cutoff);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} SENT orders created before {}", archived, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> orderIds = orderArchiveRepository.lockArchivable(cutoff, batchSize);
+            if (orderIds.isEmpty()) {
+                return 0;
+            }
+            orderArchiveRepository.moveItems(orderIds);
+            orderArchiveRepository.deleteDeliveredOutbox(orderIds);
+            return orderArchiveRepository.moveOrders(orderIds, LocalDateTime.now());
+        });
+        return moved != null ? moved : 0;
+    }
+}
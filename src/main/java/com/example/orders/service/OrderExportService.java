@@ -0,0 +1,182 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.response.OrderResponseDTO;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.projection.OrderItemRow;
+import com.example.orders.repository.projection.OrderRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams orders as newline-delimited JSON straight from a forward-only JDBC cursor
+ * Rows are fetched fetchSize at a time inside a read-only transaction (PostgreSQL only
+ * uses a cursor when autocommit is off), and only the order being written is held in memory.
+ * Archived orders are read with a second cursor in the same repeatable-read transaction, so an
+ * order archived during the export is neither missed nor written twice
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private static final String SELECT = """
+            SELECT o.id, o.external_order_id, o.total_value, o.status, o.created_at, o.updated_at,
+                   i.id AS item_id, i.product_id, i.unit_price, i.quantity, i.subtotal
+            FROM orders o
+            JOIN order_items i ON i.order_id = o.id
+            """;
+
+    private static final String SELECT_ARCHIVED = """
+            SELECT o.id, o.external_order_id, o.total_value, o.status, o.created_at, o.updated_at,
+                   i.id AS item_id, i.product_id, i.unit_price, i.quantity, i.subtotal
+            FROM orders_archive o
+            JOIN order_items_archive i ON i.order_id = o.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final OrderMapper orderMapper;
+    private final JsonMapper jsonMapper;
+    private final int flushEvery;
+
+    public OrderExportService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              OrderMapper orderMapper,
+                              JsonMapper jsonMapper,
+                              @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.orderMapper = orderMapper;
+        this.jsonMapper = jsonMapper;
+        this.flushEvery = fetchSize;
+    }
+
+    /**
+     * Writes every matching order to out, one JSON document per line
+     * Archived orders come first, then hot ones, each in id order. Any filter may be null.
+     * Returns the number of orders written.
+     */
+    public long export(OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, OutputStream out) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            where.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+        if (createdFrom != null) {
+            where.append(" AND o.created_at >= ?");
+            args.add(createdFrom);
+        }
+        if (createdTo != null) {
+            where.append(" AND o.created_at < ?");
+            args.add(createdTo);
+        }
+        where.append(" ORDER BY o.id, i.id");
+
+        // Archived orders are all SENT
+        boolean includeArchive = status == null || status == OrderStatus.SENT;
+
+        NdjsonWriter writer = new NdjsonWriter(out);
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            if (includeArchive) {
+                jdbcTemplate.query(SELECT_ARCHIVED + where, writer, args.toArray());
+            }
+            jdbcTemplate.query(SELECT + where, writer, args.toArray());
+        });
+        writer.finish();
+
+        log.info("Exported {} orders with status: {}, created from: {}, to: {}",
+                writer.written, status, createdFrom, createdTo);
+        return writer.written;
+    }
+
+    /**
+     * Collects the item rows of the current order and writes it once the next order starts
+     */
+    private class NdjsonWriter implements RowCallbackHandler {
+
+        private final OutputStream out;
+        private OrderRow order;
+        private final List<OrderItemRow> items = new ArrayList<>();
+        private long written;
+
+        NdjsonWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("id");
+            if (order != null && order.id() != orderId) {
+                write();
+            }
+            if (order == null) {
+                order = new OrderRow(
+                        orderId,
+                        rs.getString("external_order_id"),
+                        rs.getBigDecimal("total_value"),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getObject("created_at", LocalDateTime.class),
+                        rs.getObject("updated_at", LocalDateTime.class));
+            }
+            items.add(new OrderItemRow(
+                    orderId,
+                    rs.getLong("item_id"),
+                    rs.getInt("product_id"),
+                    rs.getBigDecimal("unit_price"),
+                    rs.getInt("quantity"),
+                    rs.getBigDecimal("subtotal")));
+        }
+
+        void finish() {
+            if (order != null) {
+                write();
+            }
+            flush();
+        }
+
+        private void write() {
+            OrderResponseDTO dto = orderMapper.toResponseDTO(order, items);
+            try {
+                out.write(jsonMapper.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException e) {
+                // Client went away, abort the query
+                throw new UncheckedIOException(e);
+            }
+            order = null;
+            items.clear();
+            if (++written % flushEvery == 0) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
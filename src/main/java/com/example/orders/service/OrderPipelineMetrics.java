@@ -0,0 +1,69 @@
+package com.example.orders.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for each stage of order ingestion, published as orders.ingest.stage{stage=...}
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderPipelineMetrics {
+
+    public static final String VALIDATION = "validation";
+    public static final String DEDUPE_CHECK = "dedupe_check";
+    public static final String MAPPING = "mapping";
+    public static final String PERSIST = "persist";
+    public static final String DISPATCH_HANDOFF = "dispatch_handoff";
+    public static final String COMMIT = "commit";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stages = new ConcurrentHashMap<>();
+
+    public <T> T time(String stage, Supplier<T> work) {
+        return stage(stage).record(work);
+    }
+
+    public void time(String stage, Runnable work) {
+        stage(stage).record(work);
+    }
+
+    /**
+     * Records the commit of the current transaction under the commit stage
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                stage(COMMIT).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private Timer stage(String name) {
+        return stages.computeIfAbsent(name, stage -> Timer.builder("orders.ingest.stage")
+                .description("Time spent in each stage of order ingestion")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.request.OrderCursor;
+import com.example.orders.dto.response.OrderPageResponseDTO;
+import com.example.orders.dto.response.OrderResponseDTO;
+import com.example.orders.dto.response.ProductSalesDTO;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderArchiveRepository;
+import com.example.orders.repository.OrderItemRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.projection.OrderItemRow;
+import com.example.orders.repository.projection.OrderRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read path for orders
+ * Builds response DTOs from row projections: one query for the orders and one IN query
+ * for all of their items, without hydrating entities or dirty checking
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderQueryService {
+
+    private static final Comparator<OrderRow> NEWEST_FIRST =
+            Comparator.comparing(OrderRow::createdAt).thenComparing(OrderRow::id).reversed();
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderMapper orderMapper;
+    private final OrderResponseCache orderResponseCache;
+    private final ProductCatalog productCatalog;
+
+    /**
+     * Served from OrderResponseCache; not transactional so a hit never borrows a connection
+     * Orders moved out by OrderArchiver are read from the archive tables
+     */
+    public Optional<OrderResponseDTO> findByExternalOrderId(String externalOrderId) {
+        log.debug("Searching order by external ID: {}", externalOrderId);
+
+        return orderResponseCache.get(externalOrderId, id -> orderRepository.findRowByExternalOrderId(id)
+                .map(order -> orderMapper.toResponseDTO(order,
+                        orderItemRepository.findRowsByOrderIdIn(List.of(order.id()))))
+                .or(() -> orderArchiveRepository.findRowByExternalOrderId(id)
+                        .map(order -> orderMapper.toResponseDTO(order,
+                                orderArchiveRepository.findItemRowsByOrderIdIn(List.of(order.id()))))));
+    }
+
+    /**
+     * Best-selling products by line value, summed by the database
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> topProducts(int limit) {
+        return orderItemRepository.sumSubtotalsByProduct(PageRequest.ofSize(limit)).stream()
+                .map(sales -> ProductSalesDTO.builder()
+                        .productCode(sales.productCode())
+                        .quantity(sales.quantity())
+                        .value(sales.value())
+                        .build())
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> findByIds(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return withItems(orderRepository.findRowsByIdIn(orderIds));
+    }
+
+    /**
+     * Lists orders newest first using keyset pagination on (created_at, id)
+     * Each call reads at most one page, whatever the size of the table. Archived orders are
+     * all SENT, so unless another status is requested a page of the archive is read with the
+     * same cursor and merged in; ids come from one sequence, so the cursor fits both tables
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponseDTO listOrders(OrderStatus status, String cursor, int size) {
+        log.debug("Listing orders with status: {}, cursor: {}, size: {}", status, cursor, size);
+
+        OrderCursor after = cursor != null ? OrderCursor.decode(cursor) : null;
+
+        // One extra row tells whether another page exists
+        Pageable limit = PageRequest.ofSize(size + 1);
+
+        List<OrderRow> orders;
+
+        if (status != null) {
+            orders = after != null
+                    ? orderRepository.findPageByStatusAfter(status, after.getCreatedAt(), after.getId(), limit)
+                    : orderRepository.findFirstPageByStatus(status, limit);
+        } else {
+            orders = after != null
+                    ? orderRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit)
+                    : orderRepository.findFirstPage(limit);
+        }
+
+        Set<Long> archivedIds = Set.of();
+        if (status == null || status == OrderStatus.SENT) {
+            List<OrderRow> archived = after != null
+                    ? orderArchiveRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit)
+                    : orderArchiveRepository.findFirstPage(limit);
+            if (!archived.isEmpty()) {
+                archivedIds = archived.stream().map(OrderRow::id).collect(Collectors.toSet());
+                orders = Stream.concat(orders.stream(), archived.stream())
+                        .sorted(NEWEST_FIRST)
+                        .limit(size + 1)
+                        .toList();
+            }
+        }
+
+        boolean hasMore = orders.size() > size;
+        List<OrderRow> page = hasMore ? orders.subList(0, size) : orders;
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderRow last = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return OrderPageResponseDTO.builder()
+                .orders(withItems(page, archivedIds))
+                .size(page.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private List<OrderResponseDTO> withItems(List<OrderRow> orders) {
+        return withItems(orders, Set.of());
+    }
+
+    /**
+     * Reads the items of hot and archived orders with one IN query per table
+     */
+    private List<OrderResponseDTO> withItems(List<OrderRow> orders, Set<Long> archivedIds) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Boolean, List<Long>> idsByArchived = orders.stream()
+                .map(OrderRow::id)
+                .collect(Collectors.partitioningBy(archivedIds::contains));
+
+        List<OrderItemRow> items = new ArrayList<>();
+        if (!idsByArchived.get(false).isEmpty()) {
+            items.addAll(orderItemRepository.findRowsByOrderIdIn(idsByArchived.get(false)));
+        }
+        if (!idsByArchived.get(true).isEmpty()) {
+            items.addAll(orderArchiveRepository.findItemRowsByOrderIdIn(idsByArchived.get(true)));
+        }
+
+        // One product query for the whole page; the per-order warm-up in the mapper then hits the catalog
+        productCatalog.warm(items.stream().map(OrderItemRow::productId).collect(Collectors.toSet()));
+
+        Map<Long, List<OrderItemRow>> itemsByOrder = items.stream()
+                .collect(Collectors.groupingBy(OrderItemRow::orderId));
+
+        return orders.stream()
+                .map(order -> orderMapper.toResponseDTO(order, itemsByOrder.getOrDefault(order.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.response.CacheStatsDTO;
+import com.example.orders.dto.response.OrderResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of order responses keyed by external order ID
+ * Entries expire after the TTL and are dropped as soon as a status change commits,
+ * so polling clients only reach the database on a miss
+ */
+@Component
+@Slf4j
+public class OrderResponseCache {
+
+    private final Cache<String, OrderResponseDTO> cache;
+
+    public OrderResponseCache(@Value("${orders.cache.max-size:10000}") long maxSize,
+                              @Value("${orders.cache.ttl-seconds:10}") long ttlSeconds,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+        log.info("Order response cache initialized - max size: {}, ttl: {}s", maxSize, ttlSeconds);
+    }
+
+    /**
+     * Misses are loaded with the given function; absent orders are not cached
+     */
+    public Optional<OrderResponseDTO> get(String externalOrderId,
+                                          Function<String, Optional<OrderResponseDTO>> loader) {
+        return Optional.ofNullable(cache.get(externalOrderId, id -> loader.apply(id).orElse(null)));
+    }
+
+    public void put(OrderResponseDTO order) {
+        cache.put(order.getExternalOrderId(), order);
+    }
+
+    /**
+     * Drops the entries once the current transaction commits (immediately if there is none)
+     */
+    public void invalidateAfterCommit(Collection<String> externalOrderIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(externalOrderIds);
+                }
+            });
+        } else {
+            cache.invalidateAll(externalOrderIds);
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .name("orders")
+                .size(cache.estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
@@ -1,21 +1,27 @@
 package com.example.orders.service;
 
-import com.example.orders.client.ExternalProductBClient;
 import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.dto.response.BatchOrderOutcome;
+import com.example.orders.dto.response.BatchOrderResponseDTO;
+import com.example.orders.dto.response.BatchOrderResultDTO;
 import com.example.orders.dto.response.OrderResponseDTO;
 import com.example.orders.exception.DuplicateOrderException;
 import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Money;
 import com.example.orders.model.Order;
 import com.example.orders.model.OrderStatus;
 import com.example.orders.repository.OrderRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,79 +29,248 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    /** Attempts at a batch whose inserts keep colliding with orders created concurrently */
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final ExternalProductBClient productBClient;
+    private final OutboxService outboxService;
+    private final Validator validator;
+    private final DuplicateOrderFilter duplicateOrderFilter;
+    private final OrderResponseCache orderResponseCache;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPipelineMetrics pipelineMetrics;
+    private final OrderStatistics orderStatistics;
+    private final ProductCatalog productCatalog;
 
     /**
      * Main method to process orders from External Product A
-     * Coordinates transaction and async sending to Product B
+     * Saves the order and its outbox entry for Product B in one transaction
+     * Duplicates, including of archived orders, are detected by the unique key on
+     * order_external_ids, and recently seen IDs are rejected before a connection is even borrowed
+     * The order itself was already validated by @Valid on the controller
      */
     public OrderResponseDTO processOrder(ExternalOrderRequestDTO requestDTO) {
-        OrderResponseDTO response = processAndSaveOrder(requestDTO);
+        checkAcceptable(requestDTO);
+
+        // New products are committed on their own, before the order transaction borrows a connection
+        productCatalog.register(requestDTO.getItems());
+
+        OrderResponseDTO response = transactionTemplate.execute(status -> {
+            Order savedOrder = processAndSaveOrder(requestDTO);
+
+            // Delivered to Product B by OutboxDispatcher once this transaction commits
+            pipelineMetrics.time(OrderPipelineMetrics.DISPATCH_HANDOFF, () -> outboxService.enqueue(savedOrder));
 
-        // Send to Product B after transaction commit
-        productBClient.sendOrderAsync(response);
+            pipelineMetrics.timeCommit();
+            return orderMapper.toResponseDTO(savedOrder);
+        });
 
+        duplicateOrderFilter.add(requestDTO.getOrderId());
+        orderResponseCache.put(response);
         return response;
     }
 
-    /**
-     * Transactional method to process and save order
-     * Separated to ensure transaction commits before async call
-     */
-    @Transactional
-    private OrderResponseDTO processAndSaveOrder(ExternalOrderRequestDTO requestDTO) {
+    private Order processAndSaveOrder(ExternalOrderRequestDTO requestDTO) {
         log.info("Processing order: {}", requestDTO.getOrderId());
 
-        if (orderRepository.existsByExternalOrderId(requestDTO.getOrderId())) {
+        Order order = pipelineMetrics.time(OrderPipelineMetrics.MAPPING, () -> toProcessedOrder(requestDTO));
+
+        Order savedOrder;
+        try {
+            // Flush right away so a duplicate fails here instead of at commit
+            savedOrder = pipelineMetrics.time(OrderPipelineMetrics.PERSIST, () -> orderRepository.saveAndFlush(order));
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateExternalOrderId(e)) {
+                throw e;
+            }
             log.warn("Duplicate order detected: {}", requestDTO.getOrderId());
+            duplicateOrderFilter.add(requestDTO.getOrderId());
             throw new DuplicateOrderException("Order already exists: " + requestDTO.getOrderId());
         }
 
-        Order order = orderMapper.toOrder(requestDTO);
-        order.setStatus(OrderStatus.RECEIVED);
+        orderStatistics.recordCreated(List.of(savedOrder));
 
-        BigDecimal totalValue = calculateTotalValue(order);
-        order.setTotalValue(totalValue);
-        order.setStatus(OrderStatus.PROCESSED);
+        log.info("Order processed successfully: {} with total value: {}",
+                savedOrder.getExternalOrderId(), savedOrder.getTotalValue());
 
-        Order savedOrder = orderRepository.save(order);
+        return savedOrder;
+    }
 
-        log.info("Order processed successfully: {} with total value: {}",
-                savedOrder.getExternalOrderId(), totalValue);
+    /**
+     * Rejects recently seen duplicates before any database work
+     * The order itself was already validated by @Valid on the controller
+     */
+    void checkAcceptable(ExternalOrderRequestDTO requestDTO) {
+        if (pipelineMetrics.time(OrderPipelineMetrics.DEDUPE_CHECK,
+                () -> duplicateOrderFilter.contains(requestDTO.getOrderId()))) {
+            log.warn("Duplicate order rejected from cache: {}", requestDTO.getOrderId());
+            throw new DuplicateOrderException("Order already exists: " + requestDTO.getOrderId());
+        }
+    }
+
+    /**
+     * Bulk ingestion of orders from External Product A
+     * Duplicates are found with one query and new orders are written with JDBC batch inserts
+     */
+    public BatchOrderResponseDTO processOrderBatch(List<ExternalOrderRequestDTO> requests) {
+        log.info("Processing batch of {} orders", requests.size());
+
+        BatchOrderResultDTO[] results = new BatchOrderResultDTO[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ExternalOrderRequestDTO request = requests.get(i);
+            String violations = validate(request);
+
+            if (violations != null) {
+                results[i] = result(request, BatchOrderOutcome.INVALID, null, violations);
+            } else if (duplicateOrderFilter.contains(request.getOrderId())) {
+                results[i] = result(request, BatchOrderOutcome.DUPLICATE, null,
+                        "Order already exists: " + request.getOrderId());
+            } else if (candidates.putIfAbsent(request.getOrderId(), i) != null) {
+                results[i] = result(request, BatchOrderOutcome.DUPLICATE, null,
+                        "Order repeated in batch: " + request.getOrderId());
+            }
+        }
+
+        productCatalog.register(candidates.values().stream()
+                .flatMap(index -> requests.get(index).getItems().stream())
+                .toList());
+
+        List<Order> savedOrders = candidates.isEmpty()
+                ? List.of()
+                : saveBatchWithRetry(requests, candidates, results);
+
+        List<String> createdIds = savedOrders.stream().map(Order::getExternalOrderId).toList();
+        duplicateOrderFilter.addAll(createdIds);
+        orderResponseCache.invalidateAfterCommit(createdIds);
+
+        List<BatchOrderResultDTO> resultList = Arrays.asList(results);
+        int duplicates = (int) resultList.stream().filter(r -> r.getOutcome() == BatchOrderOutcome.DUPLICATE).count();
 
-        return orderMapper.toResponseDTO(savedOrder);
+        log.info("Batch processed: {} created, {} duplicates, {} invalid",
+                savedOrders.size(), duplicates, requests.size() - savedOrders.size() - duplicates);
+
+        return BatchOrderResponseDTO.builder()
+                .created(savedOrders.size())
+                .duplicates(duplicates)
+                .invalid(requests.size() - savedOrders.size() - duplicates)
+                .results(resultList)
+                .build();
     }
 
-    private BigDecimal calculateTotalValue(Order order) {
-        return order.getItems().stream()
-                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * One order created concurrently fails the whole batch transaction. Each retry re-reads the
+     * existing IDs, which by then include the colliding ones, marks those DUPLICATE and saves the rest
+     */
+    private List<Order> saveBatchWithRetry(List<ExternalOrderRequestDTO> requests, Map<String, Integer> candidates,
+                                           BatchOrderResultDTO[] results) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> saveBatch(requests, candidates, results));
+            } catch (DuplicateOrderException e) {
+                if (attempt >= MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Batch collided with orders created concurrently, retrying (attempt {} of {})",
+                        attempt + 1, MAX_BATCH_ATTEMPTS);
+            }
+        }
     }
 
-    @Transactional(readOnly = true)
-    public Optional<OrderResponseDTO> findByExternalOrderId(String externalOrderId) {
-        log.debug("Searching order by external ID: {}", externalOrderId);
+    private List<Order> saveBatch(List<ExternalOrderRequestDTO> requests, Map<String, Integer> candidates,
+                                  BatchOrderResultDTO[] results) {
+        Set<String> existing = new HashSet<>(orderRepository.findClaimedExternalOrderIds(candidates.keySet()));
+        duplicateOrderFilter.addAll(existing);
+
+        List<Order> orders = new ArrayList<>();
+        List<Integer> orderIndexes = new ArrayList<>();
+
+        for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+            int index = candidate.getValue();
+            if (existing.contains(candidate.getKey())) {
+                results[index] = result(requests.get(index), BatchOrderOutcome.DUPLICATE, null,
+                        "Order already exists: " + candidate.getKey());
+            } else {
+                orders.add(toProcessedOrder(requests.get(index)));
+                orderIndexes.add(index);
+            }
+        }
+
+        List<Order> savedOrders;
+        try {
+            savedOrders = orderRepository.saveAllAndFlush(orders);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateExternalOrderId(e)) {
+                throw e;
+            }
+            throw new DuplicateOrderException("Some orders in this batch were created concurrently, retry the batch");
+        }
+
+        orderStatistics.recordCreated(savedOrders);
+
+        outboxService.enqueueAll(savedOrders);
+
+        for (int i = 0; i < savedOrders.size(); i++) {
+            int index = orderIndexes.get(i);
+            results[index] = result(requests.get(index), BatchOrderOutcome.CREATED, savedOrders.get(i).getId(), null);
+        }
+
+        return savedOrders;
+    }
 
-        return orderRepository.findByExternalOrderIdWithItems(externalOrderId)
-                .map(orderMapper::toResponseDTO);
+    static boolean isDuplicateExternalOrderId(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                return Order.CLAIMED_EXTERNAL_ORDER_ID_CONSTRAINT.equalsIgnoreCase(constraint)
+                        || Order.EXTERNAL_ORDER_ID_CONSTRAINT.equalsIgnoreCase(constraint);
+            }
+        }
+        return false;
     }
 
-    @Transactional(readOnly = true)
-    public List<OrderResponseDTO> listOrders(OrderStatus status) {
-        log.debug("Listing orders with status: {}", status);
+    private Order toProcessedOrder(ExternalOrderRequestDTO requestDTO) {
+        Order order = orderMapper.toOrder(requestDTO);
+        order.setStatus(OrderStatus.RECEIVED);
 
-        List<Order> orders;
+        BigDecimal totalValue = calculateTotalValue(order);
+        order.setTotalValue(totalValue);
+        order.setStatus(OrderStatus.PROCESSED);
+        return order;
+    }
 
-        if (status != null) {
-            orders = orderRepository.findByStatus(status);
-        } else {
-            orders = orderRepository.findAll();
+    private String validate(ExternalOrderRequestDTO request) {
+        if (request == null) {
+            return "Order is required";
         }
 
-        return orders.stream()
-                .map(orderMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        Set<ConstraintViolation<ExternalOrderRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private BatchOrderResultDTO result(ExternalOrderRequestDTO request, BatchOrderOutcome outcome,
+                                      Long id, String message) {
+        return BatchOrderResultDTO.builder()
+                .orderId(request != null ? request.getOrderId() : null)
+                .outcome(outcome)
+                .id(id)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Sum of the item subtotals filled in by OrderMapper.toOrder
+     */
+    public static BigDecimal calculateTotalValue(Order order) {
+        return Money.total(order.getItems());
     }
 }
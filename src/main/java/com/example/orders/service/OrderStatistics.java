@@ -0,0 +1,147 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.response.OrderStatsDTO;
+import com.example.orders.dto.response.StatusStatsDTO;
+import com.example.orders.model.Money;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderArchiveRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.projection.StatusTotals;
+import com.example.orders.repository.projection.TransitionedOrder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count and total value of orders per status, kept in memory so reads are O(1)
+ * Updated after commit on every creation and transition, and rebuilt with one GROUP BY
+ * at startup and every resync interval to pick up changes made by other instances
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatistics implements MeterBinder {
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final Map<OrderStatus, Totals> totals = new EnumMap<>(OrderStatus.class);
+    private volatile LocalDateTime rebuiltAt;
+
+    {
+        for (OrderStatus status : OrderStatus.values()) {
+            totals.put(status, new Totals());
+        }
+    }
+
+    public void recordCreated(Collection<Order> orders) {
+        afterCommit(() -> orders.forEach(order -> totals.get(order.getStatus()).add(1, Money.cents(order.getTotalValue()))));
+    }
+
+    public void recordTransitions(List<TransitionedOrder> transitioned, OrderStatus status) {
+        if (transitioned.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> transitioned.forEach(order -> {
+            OrderStatus previous = OrderStatus.valueOf(order.getPreviousStatus());
+            if (previous != status) {
+                long cents = Money.cents(order.getTotalValue());
+                totals.get(previous).add(-1, -cents);
+                totals.get(status).add(1, cents);
+            }
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${orders.stats.resync-interval-ms:300000}",
+            initialDelayString = "${orders.stats.resync-interval-ms:300000}")
+    public void rebuild() {
+        Map<OrderStatus, StatusTotals> latest = new EnumMap<>(OrderStatus.class);
+        for (StatusTotals row : orderRepository.sumByStatus()) {
+            latest.put(row.status(), row);
+        }
+        // Archived orders still count towards their status
+        for (StatusTotals row : orderArchiveRepository.sumByStatus()) {
+            latest.merge(row.status(), row, (hot, cold) -> new StatusTotals(hot.status(),
+                    hot.count() + cold.count(), hot.totalValue().add(cold.totalValue())));
+        }
+        totals.forEach((status, current) -> {
+            StatusTotals row = latest.get(status);
+            current.set(row != null ? row.count() : 0, row != null ? Money.cents(row.totalValue()) : 0);
+        });
+        rebuiltAt = LocalDateTime.now();
+        log.debug("Order statistics rebuilt: {}", latest.values());
+    }
+
+    public OrderStatsDTO snapshot() {
+        Map<OrderStatus, StatusStatsDTO> byStatus = new EnumMap<>(OrderStatus.class);
+        long totalCount = 0;
+        long totalCents = 0;
+        for (Map.Entry<OrderStatus, Totals> entry : totals.entrySet()) {
+            long count = entry.getValue().count.get();
+            long cents = entry.getValue().cents.get();
+            byStatus.put(entry.getKey(), new StatusStatsDTO(count, BigDecimal.valueOf(cents, Money.SCALE)));
+            totalCount += count;
+            totalCents += cents;
+        }
+        return OrderStatsDTO.builder()
+                .byStatus(byStatus)
+                .totalCount(totalCount)
+                .totalValue(BigDecimal.valueOf(totalCents, Money.SCALE))
+                .rebuiltAt(rebuiltAt)
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        totals.forEach((status, current) -> Gauge.builder("orders.status.count", current.count, AtomicLong::get)
+                .description("Orders currently in each status")
+                .tag("status", status.name())
+                .register(registry));
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static final class Totals {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong cents = new AtomicLong();
+
+        void add(long orders, long value) {
+            count.addAndGet(orders);
+            cents.addAndGet(value);
+        }
+
+        void set(long orders, long value) {
+            count.set(orders);
+            cents.set(value);
+        }
+    }
+}
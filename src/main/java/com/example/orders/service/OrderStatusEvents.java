@@ -0,0 +1,222 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.response.OrderStatusEventDTO;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.projection.TransitionedOrder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Server-sent events for committed order status transitions
+ * Events go into a bounded ring buffer so a subscriber can resume from its last event ID.
+ * An idle subscriber is only an SseEmitter (no thread); all sending happens on the single
+ * orderEventsExecutor thread, which delivers whatever each subscriber has not seen yet.
+ */
+@Component
+@Slf4j
+public class OrderStatusEvents implements MeterBinder {
+
+    private final Executor orderEventsExecutor;
+    private final long timeoutMs;
+
+    private final OrderStatusEventDTO[] ring;
+    private final ReentrantReadWriteLock ringLock = new ReentrantReadWriteLock();
+    /** IDs continue from the startup time so they keep increasing across restarts */
+    private final long firstId = System.currentTimeMillis() * 1000 + 1;
+    private long lastId = firstId - 1;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+
+    public OrderStatusEvents(@Qualifier("orderEventsExecutor") Executor orderEventsExecutor,
+                             @Value("${orders.events.buffer-size:10000}") int bufferSize,
+                             @Value("${orders.events.timeout-ms:1800000}") long timeoutMs) {
+        this.orderEventsExecutor = orderEventsExecutor;
+        this.timeoutMs = timeoutMs;
+        this.ring = new OrderStatusEventDTO[bufferSize];
+    }
+
+    /**
+     * Publishes the transitions once the current transaction commits
+     */
+    public void publishAfterCommit(List<TransitionedOrder> transitioned, OrderStatus status) {
+        if (transitioned.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(transitioned, status);
+                }
+            });
+        } else {
+            publish(transitioned, status);
+        }
+    }
+
+    /**
+     * Subscribes to events with one of the given statuses (all if empty), starting after
+     * lastEventId, or with new events only when it is null
+     */
+    public SseEmitter subscribe(Set<OrderStatus> statuses, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, statuses, lastEventId != null ? lastEventId : currentId());
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        scheduleDelivery();
+        log.debug("Order event subscriber added with statuses: {}, last event ID: {}", statuses, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away
+     */
+    @Scheduled(fixedDelayString = "${orders.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        orderEventsExecutor.execute(() -> subscribers.forEach(subscriber ->
+                send(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.events.subscribers", subscribers, Set::size)
+                .description("Open order status event streams")
+                .register(registry);
+    }
+
+    private void publish(List<TransitionedOrder> transitioned, OrderStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        ringLock.writeLock().lock();
+        try {
+            for (TransitionedOrder order : transitioned) {
+                OrderStatus previous = OrderStatus.valueOf(order.getPreviousStatus());
+                if (previous == status) {
+                    continue;
+                }
+                long id = ++lastId;
+                ring[(int) (id % ring.length)] = new OrderStatusEventDTO(id, order.getExternalOrderId(),
+                        status, previous, now);
+            }
+        } finally {
+            ringLock.writeLock().unlock();
+        }
+        scheduleDelivery();
+    }
+
+    /**
+     * At most one delivery pass is queued at a time; it covers every event published before it runs
+     */
+    private void scheduleDelivery() {
+        if (deliveryScheduled.compareAndSet(false, true)) {
+            orderEventsExecutor.execute(() -> {
+                deliveryScheduled.set(false);
+                subscribers.forEach(this::deliver);
+            });
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        long oldest = oldestId();
+        if (subscriber.lastSentId + 1 < oldest) {
+            // The client missed events that are no longer buffered and should re-read its orders
+            if (!send(subscriber, SseEmitter.event().name("gap").data(oldest))) {
+                return;
+            }
+            subscriber.lastSentId = oldest - 1;
+        }
+
+        for (OrderStatusEventDTO event : eventsAfter(subscriber.lastSentId)) {
+            if (subscriber.statuses.isEmpty() || subscriber.statuses.contains(event.getStatus())) {
+                if (!send(subscriber, SseEmitter.event().id(Long.toString(event.getId())).name("status").data(event))) {
+                    return;
+                }
+            }
+            subscriber.lastSentId = event.getId();
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping order event subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private List<OrderStatusEventDTO> eventsAfter(long afterId) {
+        ringLock.readLock().lock();
+        try {
+            long from = Math.max(afterId + 1, lastId - ring.length + 1);
+            List<OrderStatusEventDTO> events = new ArrayList<>((int) Math.max(0, lastId - from + 1));
+            for (long id = from; id <= lastId; id++) {
+                events.add(ring[(int) (id % ring.length)]);
+            }
+            return events;
+        } finally {
+            ringLock.readLock().unlock();
+        }
+    }
+
+    private long oldestId() {
+        ringLock.readLock().lock();
+        try {
+            return Math.max(firstId, lastId - ring.length + 1);
+        } finally {
+            ringLock.readLock().unlock();
+        }
+    }
+
+    private long currentId() {
+        ringLock.readLock().lock();
+        try {
+            return lastId;
+        } finally {
+            ringLock.readLock().unlock();
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<OrderStatus> statuses;
+        /** Only read and written on the orderEventsExecutor thread after subscription */
+        private long lastSentId;
+
+        Subscriber(SseEmitter emitter, Set<OrderStatus> statuses, long lastSentId) {
+            this.emitter = emitter;
+            this.statuses = statuses;
+            this.lastSentId = lastSentId;
+        }
+    }
+}
@@ -2,25 +2,67 @@ package com.example.orders.service;
 
 import com.example.orders.model.OrderStatus;
 import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.projection.TransitionedOrder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Applies status transitions as single conditional UPDATEs
+ * Allowed transitions come from OrderStatus.allowedFrom(); a change that is not allowed
+ * from the current status (e.g. ERROR after SENT) matches no row and is ignored
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderStatusService {
 
     private final OrderRepository orderRepository;
+    private final OrderStatusWriteBuffer writeBuffer;
+    private final OrderResponseCache orderResponseCache;
+    private final OrderStatistics orderStatistics;
+    private final OrderStatusEvents orderStatusEvents;
 
     @Transactional
     public void updateStatus(String externalOrderId, OrderStatus status) {
-        orderRepository.findByExternalOrderId(externalOrderId)
-                .ifPresent(order -> {
-                    order.setStatus(status);
-                    orderRepository.save(order);
-                    log.debug("Updated order {} status to {}", externalOrderId, status);
-                });
+        if (writeBuffer.isEnabled()) {
+            writeBuffer.submit(externalOrderId, status);
+            return;
+        }
+
+        List<TransitionedOrder> updated = orderRepository.transitionAll(List.of(externalOrderId), status, LocalDateTime.now());
+        orderStatistics.recordTransitions(updated, status);
+        orderStatusEvents.publishAfterCommit(updated, status);
+        if (!updated.isEmpty()) {
+            orderResponseCache.invalidateAfterCommit(List.of(externalOrderId));
+            log.debug("Updated order {} status to {}", externalOrderId, status);
+        } else {
+            log.debug("Ignored transition of order {} to {}", externalOrderId, status);
+        }
+    }
+
+    /**
+     * Bulk variant used by the outbox dispatcher, one UPDATE for the whole batch
+     */
+    @Transactional
+    public void updateStatuses(Collection<String> externalOrderIds, OrderStatus status) {
+        if (externalOrderIds.isEmpty()) {
+            return;
+        }
+        if (writeBuffer.isEnabled()) {
+            writeBuffer.submitAll(externalOrderIds, status);
+            return;
+        }
+
+        List<TransitionedOrder> updated = orderRepository.transitionAll(externalOrderIds, status, LocalDateTime.now());
+        orderStatistics.recordTransitions(updated, status);
+        orderStatusEvents.publishAfterCommit(updated, status);
+        orderResponseCache.invalidateAfterCommit(externalOrderIds);
+        log.debug("Updated {} of {} orders status to {}", updated.size(), externalOrderIds.size(), status);
     }
 }
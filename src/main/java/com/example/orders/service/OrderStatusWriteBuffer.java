@@ -0,0 +1,113 @@
+package com.example.orders.service;
+
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.projection.TransitionedOrder;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind buffer for status changes
+ * Changes are merged per order with OrderStatus.dominant, so a late ERROR never replaces a
+ * buffered SENT, and written every few milliseconds as one conditional UPDATE per target status.
+ * A change still buffered when the JVM dies is lost, which is why this is off by default.
+ */
+@Component
+@Slf4j
+public class OrderStatusWriteBuffer {
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderResponseCache orderResponseCache;
+    private final OrderStatistics orderStatistics;
+    private final OrderStatusEvents orderStatusEvents;
+    private final ConcurrentHashMap<String, OrderStatus> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Getter
+    private final boolean enabled;
+    private final int maxPending;
+
+    public OrderStatusWriteBuffer(OrderRepository orderRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  OrderResponseCache orderResponseCache,
+                                  OrderStatistics orderStatistics,
+                                  OrderStatusEvents orderStatusEvents,
+                                  @Value("${orders.status.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${orders.status.write-behind.max-pending:5000}") int maxPending) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.orderResponseCache = orderResponseCache;
+        this.orderStatistics = orderStatistics;
+        this.orderStatusEvents = orderStatusEvents;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+    }
+
+    public void submit(String externalOrderId, OrderStatus status) {
+        pending.merge(externalOrderId, status, OrderStatus::dominant);
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    public void submitAll(Collection<String> externalOrderIds, OrderStatus status) {
+        externalOrderIds.forEach(id -> pending.merge(id, status, OrderStatus::dominant));
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.status.write-behind.flush-interval-ms:5}")
+    public void flush() {
+        if (pending.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<OrderStatus, List<String>> byStatus = new EnumMap<>(OrderStatus.class);
+            for (String externalOrderId : new ArrayList<>(pending.keySet())) {
+                OrderStatus status = pending.remove(externalOrderId);
+                if (status != null) {
+                    byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(externalOrderId);
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                transactionTemplate.executeWithoutResult(tx -> byStatus.forEach((status, ids) -> {
+                    List<TransitionedOrder> updated = orderRepository.transitionAll(ids, status, now);
+                    orderStatistics.recordTransitions(updated, status);
+                    orderStatusEvents.publishAfterCommit(updated, status);
+                    orderResponseCache.invalidateAfterCommit(ids);
+                    log.debug("Write-behind flushed {} of {} orders to status {}", updated.size(), ids.size(), status);
+                }));
+            } catch (RuntimeException e) {
+                // Put the changes back, merged with any that arrived meanwhile
+                log.error("Write-behind flush failed, retrying on next tick", e);
+                byStatus.forEach((status, ids) -> ids.forEach(id ->
+                        pending.merge(id, status, (newer, failed) -> OrderStatus.dominant(failed, newer))));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
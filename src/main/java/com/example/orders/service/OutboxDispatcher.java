@@ -0,0 +1,93 @@
+package com.example.orders.service;
+
+import com.example.orders.client.CircuitBreaker;
+import com.example.orders.client.DispatchResult;
+import com.example.orders.client.ExternalProductBClient;
+import com.example.orders.dto.response.OrderResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Polls the outbox and delivers pending orders to Product B
+ * Each claimed batch is split into batch requests sent in parallel on productBExecutor
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+    private final ExternalProductBClient productBClient;
+    private final Executor productBExecutor;
+    private final CircuitBreaker productBCircuitBreaker;
+
+    @Value("${outbox.dispatcher.batch-size:100}")
+    private int claimSize;
+
+    @Value("${external.product-b.batch-size:20}")
+    private int requestSize;
+
+    public OutboxDispatcher(OutboxService outboxService,
+                            ExternalProductBClient productBClient,
+                            @Qualifier("productBExecutor") Executor productBExecutor,
+                            CircuitBreaker productBCircuitBreaker) {
+        this.outboxService = outboxService;
+        this.productBClient = productBClient;
+        this.productBExecutor = productBExecutor;
+        this.productBCircuitBreaker = productBCircuitBreaker;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatcher.poll-interval-ms:200}")
+    public void dispatch() {
+        List<OrderResponseDTO> batch;
+        do {
+            // Leave rows untouched while Product B is known to be down
+            if (!productBCircuitBreaker.isCallPermitted()) {
+                return;
+            }
+
+            batch = outboxService.claimBatch(claimSize);
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == claimSize);
+    }
+
+    private void send(List<OrderResponseDTO> batch) {
+        List<List<OrderResponseDTO>> chunks = new ArrayList<>();
+        List<CompletableFuture<DispatchResult>> results = new ArrayList<>();
+
+        for (int i = 0; i < batch.size(); i += requestSize) {
+            List<OrderResponseDTO> chunk = batch.subList(i, Math.min(i + requestSize, batch.size()));
+            chunks.add(chunk);
+            results.add(CompletableFuture.supplyAsync(() -> productBClient.sendOrders(chunk), productBExecutor));
+        }
+
+        List<String> sent = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+
+        for (int i = 0; i < chunks.size(); i++) {
+            List<String> ids = chunks.get(i).stream().map(OrderResponseDTO::getExternalOrderId).toList();
+            switch (results.get(i).exceptionally(e -> DispatchResult.FAILED).join()) {
+                case DELIVERED -> sent.addAll(ids);
+                case FAILED -> failed.addAll(ids);
+                case REJECTED -> rejected.addAll(ids);
+            }
+        }
+
+        outboxService.markSent(sent);
+        outboxService.markFailed(failed);
+        outboxService.release(rejected);
+
+        log.info("Dispatched {} orders to Product B in {} requests ({} sent, {} failed, {} held back by circuit breaker)",
+                batch.size(), chunks.size(), sent.size(), failed.size(), rejected.size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.orders.service;
+
+import com.example.orders.client.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-queues orders that ended in ERROR once Product B is healthy again
+ * Runs one bounded batch per tick and only while the circuit breaker is closed
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRedriver {
+
+    private final OutboxService outboxService;
+    private final CircuitBreaker productBCircuitBreaker;
+
+    @Value("${outbox.redrive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.redrive.max-redrives:3}")
+    private int maxRedrives;
+
+    @Scheduled(fixedDelayString = "${outbox.redrive.interval-ms:30000}")
+    public void redrive() {
+        if (productBCircuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return;
+        }
+
+        int redriven = outboxService.redrive(batchSize, maxRedrives);
+        if (redriven > 0) {
+            log.info("Re-driving {} orders in ERROR to Product B", redriven);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.orders.service;
+
+import com.example.orders.client.RetryBackoff;
+import com.example.orders.dto.response.OrderResponseDTO;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.model.OutboxEvent;
+import com.example.orders.model.OutboxStatus;
+import com.example.orders.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderQueryService orderQueryService;
+    private final OrderStatusService orderStatusService;
+    private final RetryBackoff retryBackoff;
+
+    @Value("${outbox.dispatcher.stale-after-seconds:60}")
+    private long staleAfterSeconds;
+
+    @Value("${outbox.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Records the order for delivery to Product B
+     * Must join the transaction that inserts the order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Order order) {
+        outboxEventRepository.save(toPendingEvent(order));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<Order> orders) {
+        outboxEventRepository.saveAll(orders.stream().map(this::toPendingEvent).toList());
+    }
+
+    private OutboxEvent toPendingEvent(Order order) {
+        OutboxEvent event = new OutboxEvent();
+        event.setOrderId(order.getId());
+        event.setExternalOrderId(order.getExternalOrderId());
+        event.setStatus(OutboxStatus.PENDING);
+        return event;
+    }
+
+    /**
+     * Claims up to batchSize rows and returns the orders to send
+     * Claimed rows are flagged IN_FLIGHT so the HTTP calls happen outside the lock
+     */
+    @Transactional
+    public List<OrderResponseDTO> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findClaimable(now, now.minusSeconds(staleAfterSeconds), batchSize);
+
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        outboxEventRepository.markClaimed(events.stream().map(OutboxEvent::getId).toList(),
+                OutboxStatus.IN_FLIGHT, now);
+
+        return orderQueryService.findByIds(events.stream().map(OutboxEvent::getOrderId).toList());
+    }
+
+    @Transactional
+    public void markSent(Collection<String> externalOrderIds) {
+        complete(externalOrderIds, OutboxStatus.SENT, OrderStatus.SENT);
+    }
+
+    /**
+     * Failed deliveries go back to PENDING with a jittered exponential backoff
+     * Orders that used up maxAttempts are marked ERROR and left for the re-driver
+     */
+    @Transactional
+    public void markFailed(Collection<String> externalOrderIds) {
+        if (externalOrderIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> exhausted = new ArrayList<>();
+
+        for (OutboxEvent event : outboxEventRepository.findByExternalOrderIdInAndStatus(externalOrderIds, OutboxStatus.IN_FLIGHT)) {
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(OutboxStatus.ERROR);
+                exhausted.add(event.getExternalOrderId());
+            } else {
+                event.setStatus(OutboxStatus.PENDING);
+                event.setNextAttemptAt(now.plus(retryBackoff.delay(event.getAttempts())));
+            }
+            event.setUpdatedAt(now);
+        }
+
+        orderStatusService.updateStatuses(exhausted, OrderStatus.ERROR);
+        log.debug("{} failed outbox events rescheduled, {} out of attempts",
+                externalOrderIds.size() - exhausted.size(), exhausted.size());
+    }
+
+    /**
+     * Returns rows that were claimed but never sent (circuit open) without using up an attempt
+     */
+    @Transactional
+    public void release(Collection<String> externalOrderIds) {
+        if (externalOrderIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : outboxEventRepository.findByExternalOrderIdInAndStatus(externalOrderIds, OutboxStatus.IN_FLIGHT)) {
+            event.setStatus(OutboxStatus.PENDING);
+            event.setAttempts(Math.max(event.getAttempts() - 1, 0));
+            event.setUpdatedAt(now);
+        }
+    }
+
+    /**
+     * Re-queues up to batchSize ERROR rows that have been re-driven fewer than maxRedrives times
+     */
+    @Transactional
+    public int redrive(int batchSize, int maxRedrives) {
+        return outboxEventRepository.redrive(maxRedrives, batchSize, LocalDateTime.now());
+    }
+
+    private void complete(Collection<String> externalOrderIds, OutboxStatus outboxStatus, OrderStatus orderStatus) {
+        if (externalOrderIds.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.markCompleted(externalOrderIds, outboxStatus, LocalDateTime.now());
+        orderStatusService.updateStatuses(externalOrderIds, orderStatus);
+        log.debug("Marked {} outbox events as {}", externalOrderIds.size(), outboxStatus);
+    }
+}
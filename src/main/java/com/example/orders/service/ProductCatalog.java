@@ -0,0 +1,159 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.request.OrderItemRequestDTO;
+import com.example.orders.repository.ProductRepository;
+import com.example.orders.repository.projection.ProductRow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-memory view of the products table, by code for ingestion and by id for reads
+ * Products are never updated, so entries stay valid until evicted. Every item mapped from a
+ * cached product shares its code and name strings.
+ */
+@Component
+@Slf4j
+public class ProductCatalog {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, ProductRow> byCode;
+    private final Cache<Integer, ProductRow> byId;
+    private final Counter nameMismatches;
+
+    public ProductCatalog(ProductRepository productRepository,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${orders.catalog.max-size:10000}") long maxSize) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.byCode = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byCode, "products-by-code");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "products-by-id");
+        this.nameMismatches = Counter.builder("orders.catalog.name.mismatch")
+                .description("Items received with a different name than their product keeps")
+                .register(meterRegistry);
+        log.info("Product catalog initialized - max size: {}", maxSize);
+    }
+
+    /**
+     * Adds the products of these items that are not in the catalog yet
+     * Runs in its own short transaction, so call it before the order transaction starts:
+     * a product must be committed before it is cached. A product keeps the name it was first
+     * received with; items naming it differently are logged and counted, not stored.
+     */
+    public void register(Collection<OrderItemRequestDTO> items) {
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (OrderItemRequestDTO item : items) {
+            ProductRow cached = byCode.getIfPresent(item.getProductCode());
+            if (cached != null) {
+                checkName(cached, item.getProductName());
+            } else {
+                missing.putIfAbsent(item.getProductCode(), item.getProductName());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<ProductRow> products = transactionTemplate.execute(tx -> {
+            List<ProductRow> found = productRepository.findRowsByCodeIn(missing.keySet());
+            if (found.size() == missing.size()) {
+                return found;
+            }
+            Set<String> existing = found.stream().map(ProductRow::code).collect(Collectors.toSet());
+            missing.forEach((code, name) -> {
+                if (!existing.contains(code)) {
+                    productRepository.insertIfAbsent(code, name);
+                }
+            });
+            return productRepository.findRowsByCodeIn(missing.keySet());
+        });
+
+        log.debug("Registered {} products in the catalog", missing.size());
+        products.forEach(this::put);
+
+        Map<String, ProductRow> registered = products.stream()
+                .collect(Collectors.toMap(ProductRow::code, product -> product));
+        for (OrderItemRequestDTO item : items) {
+            ProductRow product = registered.get(item.getProductCode());
+            if (product != null) {
+                checkName(product, item.getProductName());
+            }
+        }
+    }
+
+    /**
+     * Id of a product added by register(); reads it back if it was evicted since
+     */
+    public Integer idOf(String code) {
+        return byCode.get(code, this::loadByCode).id();
+    }
+
+    public ProductRow get(Integer id) {
+        return byId.get(id, this::load);
+    }
+
+    /**
+     * Loads the given products that are not cached with one query
+     */
+    public void warm(Collection<Integer> ids) {
+        byId.getAll(ids, missing -> {
+            Map<Integer, ProductRow> loaded = new HashMap<>();
+            for (ProductRow product : productRepository.findRowsByIdIn(Set.copyOf(missing))) {
+                byCode.put(product.code(), product);
+                loaded.put(product.id(), product);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Adds a product already read from the products table
+     */
+    public void put(ProductRow product) {
+        byCode.put(product.code(), product);
+        byId.put(product.id(), product);
+    }
+
+    private void checkName(ProductRow product, String receivedName) {
+        if (!Objects.equals(product.name(), receivedName)) {
+            nameMismatches.increment();
+            log.warn("Product {} received as '{}', keeping its first name '{}'",
+                    product.code(), receivedName, product.name());
+        }
+    }
+
+    private ProductRow loadByCode(String code) {
+        ProductRow product = productRepository.findRowsByCodeIn(List.of(code)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Product not registered: " + code));
+        byId.put(product.id(), product);
+        return product;
+    }
+
+    private ProductRow load(Integer id) {
+        ProductRow product = productRepository.findRowsByIdIn(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown product id: " + id));
+        byCode.put(product.code(), product);
+        return product;
+    }
+}
@@ -0,0 +1,153 @@
+-- Baseline schema, previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Written to be safe on databases that ddl-auto already created, in any intermediate state:
+-- existing tables are kept, missing columns, sequences and indexes are added, and the unique
+-- constraint ddl-auto generated on orders.external_order_id gets its expected name.
+
+-- Sequences (pooled, matching allocationSize = 50 on the entities)
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+-- Orders
+CREATE TABLE IF NOT EXISTS orders (
+    id                BIGINT       NOT NULL,
+    external_order_id VARCHAR(255) NOT NULL,
+    total_value       NUMERIC(10, 2),
+    status            VARCHAR(255) NOT NULL CHECK (status IN ('RECEIVED', 'PROCESSED', 'SENT', 'ERROR')),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT orders_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_orders_external_order_id UNIQUE (external_order_id)
+);
+
+-- ddl-auto named the external_order_id constraint after a hash, but OrderService recognises
+-- duplicates by the name uk_orders_external_order_id: replace any other unique constraint on it
+DO $$
+DECLARE
+    generated_name TEXT;
+BEGIN
+    FOR generated_name IN
+        SELECT c.conname FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attname = 'external_order_id'
+        WHERE c.conrelid = 'orders'::regclass
+          AND c.contype = 'u'
+          AND c.conkey = ARRAY[a.attnum]
+          AND c.conname <> 'uk_orders_external_order_id'
+    LOOP
+        EXECUTE format('ALTER TABLE orders DROP CONSTRAINT %I', generated_name);
+    END LOOP;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'orders'::regclass AND conname = 'uk_orders_external_order_id') THEN
+        ALTER TABLE orders ADD CONSTRAINT uk_orders_external_order_id UNIQUE (external_order_id);
+    END IF;
+END
+$$;
+
+-- Order items
+CREATE TABLE IF NOT EXISTS order_items (
+    id           BIGINT         NOT NULL,
+    order_id     BIGINT         NOT NULL,
+    product_code VARCHAR(255)   NOT NULL,
+    product_name VARCHAR(255),
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    subtotal     NUMERIC(10, 2),
+    CONSTRAINT order_items_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+-- Stored line subtotal: backfill rows written before the column existed
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS subtotal NUMERIC(10, 2);
+UPDATE order_items SET subtotal = ROUND(unit_price * quantity, 2) WHERE subtotal IS NULL;
+ALTER TABLE order_items ALTER COLUMN subtotal SET NOT NULL;
+
+-- Transactional outbox for Product B
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id                BIGINT       NOT NULL,
+    order_id          BIGINT       NOT NULL,
+    external_order_id VARCHAR(255) NOT NULL,
+    status            VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'IN_FLIGHT', 'SENT', 'ERROR')),
+    attempts          INTEGER      NOT NULL DEFAULT 0,
+    redrives          INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at   TIMESTAMP(6),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT order_outbox_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS redrives INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6);
+
+-- Archive of SENT orders (OrderArchiver), same columns plus archived_at
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id                BIGINT       NOT NULL,
+    external_order_id VARCHAR(255) NOT NULL,
+    total_value       NUMERIC(10, 2),
+    status            VARCHAR(255) NOT NULL CHECK (status IN ('RECEIVED', 'PROCESSED', 'SENT', 'ERROR')),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    archived_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT orders_archive_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_orders_archive_external_order_id UNIQUE (external_order_id)
+);
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id           BIGINT         NOT NULL,
+    order_id     BIGINT         NOT NULL,
+    product_code VARCHAR(255)   NOT NULL,
+    product_name VARCHAR(255),
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    subtotal     NUMERIC(10, 2) NOT NULL,
+    CONSTRAINT order_items_archive_pkey PRIMARY KEY (id)
+);
+
+-- Every external order ID ever stored, hot or archived, under one unique key.
+-- Inserts into orders claim their ID here through a trigger, so a duplicate of an archived
+-- order fails on insert like any other duplicate, with no extra lookup and no race with
+-- OrderArchiver: a row moved to orders_archive keeps its claim.
+CREATE TABLE IF NOT EXISTS order_external_ids (
+    external_order_id VARCHAR(255) NOT NULL,
+    CONSTRAINT order_external_ids_pkey PRIMARY KEY (external_order_id)
+);
+
+CREATE OR REPLACE FUNCTION claim_external_order_id() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO order_external_ids (external_order_id) VALUES (NEW.external_order_id);
+    RETURN NEW;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS orders_claim_external_order_id ON orders;
+CREATE TRIGGER orders_claim_external_order_id
+    BEFORE INSERT ON orders
+    FOR EACH ROW EXECUTE FUNCTION claim_external_order_id();
+
+INSERT INTO order_external_ids (external_order_id)
+SELECT external_order_id FROM orders
+UNION
+SELECT external_order_id FROM orders_archive
+ON CONFLICT DO NOTHING;
+
+-- Indexes, one per query shape:
+-- listOrders / export / archival: ORDER BY created_at, id, optionally filtered by status
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id ON orders (status, created_at, id);
+-- Item loads by order (IN query, export join, archival move)
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+-- Outbox claim and re-drive: status filter in id order
+CREATE INDEX IF NOT EXISTS idx_order_outbox_status_id ON order_outbox (status, id);
+-- Outbox completion by external order ID, cleanup by order ID on archival
+CREATE INDEX IF NOT EXISTS idx_order_outbox_external_order_id ON order_outbox (external_order_id);
+CREATE INDEX IF NOT EXISTS idx_order_outbox_order_id ON order_outbox (order_id);
+-- Archived item loads by order
+CREATE INDEX IF NOT EXISTS idx_order_items_archive_order_id ON order_items_archive (order_id);
+-- Archive pages merged into listOrders: ORDER BY created_at, id
+CREATE INDEX IF NOT EXISTS idx_orders_archive_created_at_id ON orders_archive (created_at, id);
+
+-- Indexes the README used to ask for by hand, covered by the unique constraint and by
+-- idx_orders_status_created_at_id respectively
+DROP INDEX IF EXISTS idx_external_order_id;
+DROP INDEX IF EXISTS idx_status;
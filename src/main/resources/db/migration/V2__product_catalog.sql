@@ -0,0 +1,33 @@
+-- Product dimension: items reference a product by a 4-byte id instead of repeating its code and name.
+-- A product keeps the name of the first item seen with its code.
+
+CREATE TABLE products (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    code VARCHAR(255) NOT NULL,
+    name VARCHAR(255),
+    CONSTRAINT products_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_products_code UNIQUE (code)
+);
+
+INSERT INTO products (code, name)
+SELECT DISTINCT ON (product_code) product_code, product_name
+FROM (
+    SELECT id, product_code, product_name FROM order_items
+    UNION ALL
+    SELECT id, product_code, product_name FROM order_items_archive
+) items
+ORDER BY product_code, id;
+
+-- Hot items
+ALTER TABLE order_items ADD COLUMN product_id INTEGER;
+UPDATE order_items i SET product_id = p.id FROM products p WHERE p.code = i.product_code;
+ALTER TABLE order_items ALTER COLUMN product_id SET NOT NULL;
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE order_items DROP COLUMN product_code, DROP COLUMN product_name;
+
+-- Archived items
+ALTER TABLE order_items_archive ADD COLUMN product_id INTEGER;
+UPDATE order_items_archive i SET product_id = p.id FROM products p WHERE p.code = i.product_code;
+ALTER TABLE order_items_archive ALTER COLUMN product_id SET NOT NULL;
+ALTER TABLE order_items_archive ADD CONSTRAINT fk_order_items_archive_product FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE order_items_archive DROP COLUMN product_code, DROP COLUMN product_name;
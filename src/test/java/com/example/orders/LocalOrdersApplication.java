@@ -0,0 +1,39 @@
+package com.example.orders;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+
+import java.io.IOException;
+
+/**
+ * Runs the service offline against an embedded PostgreSQL with the loadtest profile
+ *
+ * Run with: ./mvnw spring-boot:test-run -Dspring-boot.run.main-class=com.example.orders.LocalOrdersApplication
+ */
+public class LocalOrdersApplication {
+
+	public static void main(String[] args) throws IOException {
+		EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				postgres.close();
+			} catch (IOException e) {
+				System.err.println("Failed to stop embedded PostgreSQL: " + e.getMessage());
+			}
+		}));
+
+		String[] overrides = {
+				"--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+				"--spring.datasource.username=postgres",
+				"--spring.datasource.password=postgres"
+		};
+		String[] allArgs = new String[overrides.length + args.length];
+		System.arraycopy(overrides, 0, allArgs, 0, overrides.length);
+		System.arraycopy(args, 0, allArgs, overrides.length, args.length);
+
+		SpringApplication.from(OrdersApplication::main)
+				.withAdditionalProfiles("loadtest")
+				.run(allArgs);
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.dto.request.OrderItemRequestDTO;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderItem;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.projection.ProductRow;
+import com.example.orders.service.ProductCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic order fixtures shared by the JMH benchmarks and the load generator
+ */
+final class BenchmarkOrders {
+
+    /** Distinct products used by the fixtures */
+    private static final int PRODUCTS = 500;
+
+    private BenchmarkOrders() {
+    }
+
+    /**
+     * A mapper whose catalog already holds every fixture product, so mapping never queries
+     */
+    static OrderMapper orderMapper() {
+        ProductCatalog catalog = new ProductCatalog(null, null, new SimpleMeterRegistry(), PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            catalog.put(new ProductRow(i + 1, "PROD-" + i, "Product " + i));
+        }
+        return new OrderMapper(catalog);
+    }
+
+    static ExternalOrderRequestDTO request(int itemCount) {
+        return request("BENCH-" + itemCount, itemCount);
+    }
+
+    static ExternalOrderRequestDTO request(String orderId, int itemCount) {
+        List<OrderItemRequestDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemRequestDTO(
+                    "PROD-" + (i % PRODUCTS),
+                    "Product " + (i % PRODUCTS),
+                    BigDecimal.valueOf(100 + (i % 9_900), 2),
+                    1 + (i % 5)));
+        }
+        return new ExternalOrderRequestDTO(orderId, items);
+    }
+
+    /**
+     * Fills in what persisting would set on a mapped order
+     */
+    static Order persistedOrder(Order mapped) {
+        mapped.setId(1L);
+        mapped.setStatus(OrderStatus.PROCESSED);
+        mapped.setCreatedAt(LocalDateTime.of(2025, 12, 3, 10, 0));
+        mapped.setUpdatedAt(LocalDateTime.of(2025, 12, 3, 10, 0));
+
+        long itemId = 1;
+        for (OrderItem item : mapped.getItems()) {
+            item.setId(itemId++);
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.dto.response.OrderResponseDTO;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the request body read on ingestion and the response body written on reads
+ * Run with: ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=OrderJsonBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "10", "100", "10000"})
+    public int itemCount;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ExternalOrderRequestDTO request;
+    private byte[] requestJson;
+    private OrderResponseDTO response;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() {
+        OrderMapper orderMapper = BenchmarkOrders.orderMapper();
+        request = BenchmarkOrders.request(itemCount);
+        requestJson = jsonMapper.writeValueAsBytes(request);
+
+        Order order = BenchmarkOrders.persistedOrder(orderMapper.toOrder(request));
+        order.setTotalValue(OrderService.calculateTotalValue(order));
+        response = orderMapper.toResponseDTO(order);
+        responseJson = jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ExternalOrderRequestDTO readRequest() {
+        return jsonMapper.readValue(requestJson, ExternalOrderRequestDTO.class);
+    }
+
+    @Benchmark
+    public byte[] writeRequest() {
+        return jsonMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public OrderResponseDTO readResponse() {
+        return jsonMapper.readValue(responseJson, OrderResponseDTO.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.orders.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives POST /api/orders at a fixed rate and reports throughput and p50/p99/p999 latency
+ * Requests are scheduled open-loop: latency is measured from when a request was due,
+ * so time spent waiting for a free connection slot counts against the service.
+ *
+ * Start the service offline first (see LocalOrdersApplication), then run with:
+ * ./mvnw -Pload test-compile exec:java
+ * Tunables: -Dload.url=http://localhost:8080 -Dload.rate=500 -Dload.concurrency=64
+ * -Dload.durationSeconds=60 -Dload.warmupSeconds=10 -Dload.items=5 -Dload.duplicateRatio=0.05
+ * load.rate=0 sends as fast as the concurrency allows
+ */
+public final class OrderLoadGenerator {
+
+    private static final String URL = System.getProperty("load.url", "http://localhost:8080");
+    private static final int RATE = Integer.getInteger("load.rate", 500);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 10);
+    private static final int ITEMS = Integer.getInteger("load.items", 5);
+    private static final double DUPLICATE_RATIO = Double.parseDouble(System.getProperty("load.duplicateRatio", "0"));
+    private static final int TIMEOUT_SECONDS = Integer.getInteger("load.timeoutSeconds", 30);
+
+    /** Status code recorded for requests that never got a response */
+    private static final int NO_RESPONSE = -1;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final URI ordersUri = URI.create(URL + "/api/orders");
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Semaphore slots = new Semaphore(CONCURRENCY);
+    private final AtomicLong nextOrder = new AtomicLong();
+    private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+
+    public static void main(String[] args) throws InterruptedException {
+        new OrderLoadGenerator().run();
+    }
+
+    private void run() throws InterruptedException {
+        System.out.printf("Sending orders to %s - rate: %s/s, concurrency: %d, items: %d, duplicates: %.1f%%, " +
+                        "warmup: %ds, duration: %ds%n",
+                ordersUri, RATE > 0 ? RATE : "max", CONCURRENCY, ITEMS, DUPLICATE_RATIO * 100,
+                WARMUP_SECONDS, DURATION_SECONDS);
+
+        long intervalNanos = RATE > 0 ? TimeUnit.SECONDS.toNanos(1) / RATE : 0;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * intervalNanos;
+                if (due >= end || System.nanoTime() >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                slots.acquire();
+                long scheduledAt = intervalNanos > 0 ? due : System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        send(scheduledAt, scheduledAt >= measureFrom);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        }
+
+        report(Math.min(System.nanoTime(), end) - measureFrom);
+    }
+
+    private void send(long scheduledAt, boolean measured) {
+        int status;
+        try {
+            byte[] body = jsonMapper.writeValueAsBytes(BenchmarkOrders.request(nextOrderId(), ITEMS));
+            HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                    .timeout(Duration.ofSeconds(TIMEOUT_SECONDS))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            status = NO_RESPONSE;
+        }
+
+        if (measured) {
+            latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt),
+                    latencyMicros.getHighestTrackableValue()));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            completed.increment();
+        }
+    }
+
+    /**
+     * A fresh ID, or with probability duplicateRatio one that was already sent
+     */
+    private String nextOrderId() {
+        long sent = nextOrder.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = sent > 0 && random.nextDouble() < DUPLICATE_RATIO
+                ? random.nextLong(sent)
+                : nextOrder.getAndIncrement();
+        return "LOAD-" + runId + "-" + id;
+    }
+
+    private void report(long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        System.out.println("========================================");
+        System.out.printf("Requests:   %d in %.1fs%n", completed.sum(), seconds);
+        System.out.printf("Throughput: %.1f orders/s%n", completed.sum() / seconds);
+        new TreeMap<>(statuses).forEach((status, count) -> System.out.printf("  %-8s %d%n",
+                status == NO_RESPONSE ? "error" : "HTTP " + status, count.sum()));
+        System.out.printf("Latency:    p50 %.1fms, p99 %.1fms, p999 %.1fms, max %.1fms%n",
+                millis(latencyMicros.getValueAtPercentile(50)),
+                millis(latencyMicros.getValueAtPercentile(99)),
+                millis(latencyMicros.getValueAtPercentile(99.9)),
+                millis(latencyMicros.getMaxValue()));
+        System.out.println("========================================");
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.dto.response.OrderResponseDTO;
+import com.example.orders.dto.response.ProcessedOrderDTO;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the mapping and total calculation done for every order
+ * Run with: ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=OrderMapperBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "100", "10000"})
+    public int itemCount;
+
+    private final OrderMapper orderMapper = BenchmarkOrders.orderMapper();
+    private ExternalOrderRequestDTO request;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkOrders.request(itemCount);
+        order = BenchmarkOrders.persistedOrder(orderMapper.toOrder(request));
+        order.setTotalValue(OrderService.calculateTotalValue(order));
+    }
+
+    @Benchmark
+    public Order toOrder() {
+        return orderMapper.toOrder(request);
+    }
+
+    @Benchmark
+    public OrderResponseDTO toResponseDTO() {
+        return orderMapper.toResponseDTO(order);
+    }
+
+    @Benchmark
+    public ProcessedOrderDTO toProcessedOrderDTO() {
+        return orderMapper.toProcessedOrderDTO(order);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalValue() {
+        return OrderService.calculateTotalValue(order);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.client.DownstreamLimiter;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+/**
+ * Compares the platform productBExecutor pool against virtual threads + DownstreamLimiter
+ * Simulated Tomcat request threads hand off dispatches to Product B, which is a local
+ * HTTP server with a fixed latency. Reports throughput, end-to-end p50/p99 and the p99
+ * time a request thread spends handing off (CallerRunsPolicy shows up here).
+ *
+ * Run with: ./mvnw test -Pbenchmark -Dtest=ProductBExecutorBenchmark
+ * Tunables: -Dbench.orders=5000 -Dbench.latencyMs=50 -Dbench.requestThreads=200 -Dbench.limit=20
+ */
+@Tag("benchmark")
+class ProductBExecutorBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("bench.orders", 5000);
+    private static final int LATENCY_MS = Integer.getInteger("bench.latencyMs", 50);
+    private static final int REQUEST_THREADS = Integer.getInteger("bench.requestThreads", 200);
+    private static final int LIMIT = Integer.getInteger("bench.limit", 20);
+
+    private static HttpServer productB;
+    private static String productBUrl;
+
+    @BeforeAll
+    static void startProductB() throws IOException {
+        productB = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        productB.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        productB.createContext("/orders/batch", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            sleep(LATENCY_MS);
+            byte[] response = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        productB.start();
+        productBUrl = "http://localhost:" + productB.getAddress().getPort() + "/orders/batch";
+    }
+
+    @AfterAll
+    static void stopProductB() {
+        productB.stop(0);
+    }
+
+    @Test
+    void platformPool() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(20);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("product-b-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        try {
+            run("platform pool 10-20/500", executor, new DownstreamLimiter("product-b", Integer.MAX_VALUE));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void virtualThreadsWithLimiter() throws Exception {
+        try (SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("product-b-")) {
+            executor.setVirtualThreads(true);
+            run("virtual + limiter(" + LIMIT + ")", executor, new DownstreamLimiter("product-b", LIMIT));
+        }
+    }
+
+    private void run(String mode, Executor productBExecutor, DownstreamLimiter limiter) throws Exception {
+        long[] handoffNanos = new long[ORDERS];
+        long[] endToEndNanos = new long[ORDERS];
+        CountDownLatch done = new CountDownLatch(ORDERS);
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            int order = i;
+            requestThreads.execute(() -> {
+                long received = System.nanoTime();
+                productBExecutor.execute(() -> {
+                    limiter.execute(this::post);
+                    endToEndNanos[order] = System.nanoTime() - received;
+                    done.countDown();
+                });
+                handoffNanos[order] = System.nanoTime() - received;
+            });
+        }
+        done.await(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        requestThreads.shutdown();
+
+        Arrays.sort(handoffNanos);
+        Arrays.sort(endToEndNanos);
+        System.out.printf("%-28s throughput %8.1f orders/s | end-to-end p50 %7.1f ms p99 %7.1f ms | handoff p99 %7.2f ms%n",
+                mode,
+                ORDERS / (elapsed / 1e9),
+                percentile(endToEndNanos, 0.50),
+                percentile(endToEndNanos, 0.99),
+                percentile(handoffNanos, 0.99));
+    }
+
+    private Boolean post() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create(productBUrl).toURL().openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write("[]".getBytes(StandardCharsets.UTF_8));
+            }
+            try (InputStream in = connection.getInputStream()) {
+                in.readAllBytes();
+            }
+            return connection.getResponseCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
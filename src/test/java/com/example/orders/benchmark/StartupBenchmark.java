@@ -0,0 +1,157 @@
+package com.example.orders.benchmark;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Starts the packaged service once per mode and run, and reports the time from launching
+ * the JVM to the first 201 from POST /api/orders
+ *
+ * Build the jar, AOT code and CDS archives first, with PostgreSQL running:
+ * ./mvnw -Pfast-start package
+ * then run with:
+ * ./mvnw -Pstartup test-compile exec:java
+ * Tunables: -Dstartup.dir=target/fast-start -Dstartup.runs=5 -Dstartup.port=18080
+ * -Dstartup.modes=default,lazy,aot,cds,aot-cds -Dstartup.timeoutSeconds=120
+ */
+public final class StartupBenchmark {
+
+    private static final Path DIR = Path.of(System.getProperty("startup.dir", "target/fast-start"));
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final int PORT = Integer.getInteger("startup.port", 18080);
+    private static final String MODES = System.getProperty("startup.modes", "default,lazy,aot,cds,aot-cds");
+    private static final int TIMEOUT_SECONDS = Integer.getInteger("startup.timeoutSeconds", 120);
+
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final URI ordersUri = URI.create("http://localhost:" + PORT + "/api/orders");
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+
+    enum Mode {
+        DEFAULT(List.of(), List.of()),
+        LAZY(List.of(), List.of("--spring.profiles.active=lazy")),
+        AOT(List.of("-Dspring.aot.enabled=true"), List.of()),
+        CDS(List.of("-XX:SharedArchiveFile=" + DIR.resolve("orders.jsa")), List.of()),
+        AOT_CDS(List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + DIR.resolve("orders-aot.jsa")), List.of());
+
+        private final List<String> jvmArgs;
+        private final List<String> appArgs;
+
+        Mode(List<String> jvmArgs, List<String> appArgs) {
+            this.jvmArgs = jvmArgs;
+            this.appArgs = appArgs;
+        }
+
+        static Mode parse(String name) {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark().run();
+    }
+
+    private void run() throws Exception {
+        Path jar = findJar();
+        List<Mode> modes = Arrays.stream(MODES.split(",")).map(Mode::parse).toList();
+        System.out.printf("Starting %s - modes: %s, runs: %d, port: %d%n", jar, modes, RUNS, PORT);
+
+        List<String> report = new ArrayList<>();
+        for (Mode mode : modes) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = timeToFirstOrder(jar, mode, run);
+                System.out.printf("  %-8s run %d: %d ms%n", mode, run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            report.add(String.format("%-8s min %5d ms, median %5d ms, max %5d ms",
+                    mode, millis[0], millis[RUNS / 2], millis[RUNS - 1]));
+        }
+
+        System.out.println("========================================");
+        System.out.println("Time to first successful POST /api/orders");
+        report.forEach(System.out::println);
+        System.out.println("========================================");
+    }
+
+    private long timeToFirstOrder(Path jar, Mode mode, int run) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + PORT);
+        command.addAll(mode.appArgs);
+
+        File log = DIR.resolve("startup-" + mode.name().toLowerCase() + ".log").toFile();
+        byte[] body = jsonMapper.writeValueAsBytes(
+                BenchmarkOrders.request("STARTUP-" + runId + "-" + mode + "-" + run, 1));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = start + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (postOrder(body) == 201) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            throw new IllegalStateException(mode + " did not accept an order within " + TIMEOUT_SECONDS + "s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Status code of POST /api/orders, or -1 while the port is not open yet
+     */
+    private int postOrder(byte[] body) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Path findJar() throws IOException {
+        try (Stream<Path> files = Files.list(DIR)) {
+            return files.filter(f -> f.toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + DIR + ", run ./mvnw -Pfast-start package"));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.orders.config;
+
+import com.example.orders.client.CircuitBreaker;
+import com.example.orders.client.ExternalProductBClient;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.service.OrderResponseCache;
+import com.example.orders.service.OrderStatistics;
+import com.example.orders.service.OrderStatusEvents;
+import com.example.orders.service.OrderStatusWriteBuffer;
+import com.example.orders.service.OutboxDispatcher;
+import com.example.orders.service.OutboxService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the scheduled jobs on the scheduler configured in application.properties, with an
+ * outbox dispatch that never finishes
+ */
+@SpringBootTest(classes = {SchedulingConfig.class, OutboxDispatcher.class, OrderStatusWriteBuffer.class,
+        SchedulingConfigTest.Collaborators.class},
+        properties = "orders.status.write-behind.enabled=true")
+@ImportAutoConfiguration(TaskSchedulingAutoConfiguration.class)
+class SchedulingConfigTest {
+
+    private static final CountDownLatch DISPATCHING = new CountDownLatch(1);
+    private static final CountDownLatch DISPATCH_RELEASED = new CountDownLatch(1);
+
+    @MockitoBean
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private OrderResponseCache orderResponseCache;
+
+    @MockitoBean
+    private OrderStatistics orderStatistics;
+
+    @MockitoBean
+    private OrderStatusEvents orderStatusEvents;
+
+    @Autowired
+    private OrderStatusWriteBuffer writeBuffer;
+
+    @AfterAll
+    static void releaseDispatch() {
+        DISPATCH_RELEASED.countDown();
+    }
+
+    @Test
+    void writeBehindFlushRunsWhileADispatchIsInProgress() throws InterruptedException {
+        assertTrue(DISPATCHING.await(10, TimeUnit.SECONDS));
+
+        writeBuffer.submit("ORDER-1", OrderStatus.SENT);
+
+        verify(orderRepository, timeout(5000)).transitionAll(eq(List.of("ORDER-1")), eq(OrderStatus.SENT),
+                any(LocalDateTime.class));
+        assertEquals(1, DISPATCH_RELEASED.getCount());
+    }
+
+    @TestConfiguration
+    static class Collaborators {
+
+        @Bean
+        OutboxService outboxService() {
+            // Claiming blocks until the test ends, holding on to whichever scheduler thread runs the dispatch
+            return mock(OutboxService.class, invocation -> {
+                if (!invocation.getMethod().getName().equals("claimBatch")) {
+                    return Answers.RETURNS_DEFAULTS.answer(invocation);
+                }
+                DISPATCHING.countDown();
+                DISPATCH_RELEASED.await();
+                return List.of();
+            });
+        }
+
+        @Bean
+        ExternalProductBClient productBClient() {
+            return mock(ExternalProductBClient.class);
+        }
+
+        @Bean
+        Executor productBExecutor() {
+            return Runnable::run;
+        }
+
+        @Bean
+        CircuitBreaker productBCircuitBreaker() {
+            return new CircuitBreaker("product-b", 5, Duration.ofSeconds(30));
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate() {
+            return new TransactionTemplate(mock(PlatformTransactionManager.class));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.orders.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MoneyTest {
+
+    @Test
+    void multipliesWholeCents() {
+        assertEquals(new BigDecimal("6000.00"), Money.lineTotal(new BigDecimal("3000.00"), 2));
+        assertEquals(new BigDecimal("15.00"), Money.lineTotal(new BigDecimal("5"), 3));
+        assertEquals(new BigDecimal("0.30"), Money.lineTotal(new BigDecimal("0.1"), 3));
+    }
+
+    @Test
+    void roundsFractionsOfACentHalfUp() {
+        assertEquals(new BigDecimal("3.02"), Money.lineTotal(new BigDecimal("1.005"), 3));
+        assertEquals(new BigDecimal("3.04"), Money.total(List.of(item("1.005", 2), item("1.025", 1))));
+    }
+
+    @Test
+    void roundsEachLineBeforeSumming() {
+        // Summing the exact lines first would give 2.01
+        assertEquals(new BigDecimal("2.02"), Money.total(List.of(item("1.005", 1), item("1.005", 1))));
+    }
+
+    @Test
+    void fallsBackToBigDecimalOnOverflow() {
+        BigDecimal huge = new BigDecimal("92233720368547758.07");
+        assertEquals(huge.multiply(BigDecimal.valueOf(1000)), Money.lineTotal(huge, 1000));
+        assertEquals(new BigDecimal("184467440737095516.14"), Money.total(List.of(item(huge.toPlainString(), 1),
+                item(huge.toPlainString(), 1))));
+    }
+
+    @Test
+    void totalsMatchExactArithmetic() {
+        List<OrderItem> items = List.of(item("3000.00", 2), item("50.00", 1), item("0.99", 7));
+        assertEquals(new BigDecimal("6056.93"), Money.total(items));
+    }
+
+    private static OrderItem item(String unitPrice, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        item.setQuantity(quantity);
+        item.setSubtotal(Money.lineTotal(item.getUnitPrice(), quantity));
+        return item;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.orders.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusTest {
+
+    @Test
+    void followsTheOrderLifecycle() {
+        assertTrue(OrderStatus.PROCESSED.canTransitionFrom(OrderStatus.RECEIVED));
+        assertTrue(OrderStatus.SENT.canTransitionFrom(OrderStatus.PROCESSED));
+        assertTrue(OrderStatus.ERROR.canTransitionFrom(OrderStatus.PROCESSED));
+        assertTrue(OrderStatus.SENT.canTransitionFrom(OrderStatus.ERROR));
+    }
+
+    @Test
+    void lateErrorNeverOverwritesSent() {
+        assertFalse(OrderStatus.ERROR.canTransitionFrom(OrderStatus.SENT));
+        assertFalse(OrderStatus.PROCESSED.canTransitionFrom(OrderStatus.SENT));
+        assertFalse(OrderStatus.RECEIVED.canTransitionFrom(OrderStatus.PROCESSED));
+    }
+
+    @Test
+    void dominantKeepsSentOverALateError() {
+        assertEquals(OrderStatus.SENT, OrderStatus.dominant(OrderStatus.SENT, OrderStatus.ERROR));
+        assertEquals(OrderStatus.SENT, OrderStatus.dominant(OrderStatus.ERROR, OrderStatus.SENT));
+        assertEquals(OrderStatus.ERROR, OrderStatus.dominant(OrderStatus.PROCESSED, OrderStatus.ERROR));
+        assertEquals(OrderStatus.ERROR, OrderStatus.dominant(OrderStatus.ERROR, OrderStatus.ERROR));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.orders.repository;
+
+import com.example.orders.PostgresRepositoryTest;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.projection.OrderRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2026, 1, 1, 10, 0, 0, 123_456_000);
+    private static final LocalDateTime LATER = EARLIER.plusSeconds(1);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Three orders share a timestamp, so pages must break ties on id
+        insert(1L, EARLIER, OrderStatus.PROCESSED);
+        insert(2L, EARLIER, OrderStatus.SENT);
+        insert(3L, EARLIER, OrderStatus.PROCESSED);
+        insert(4L, LATER, OrderStatus.PROCESSED);
+        insert(5L, LATER, OrderStatus.SENT);
+    }
+
+    @Test
+    void pagesWalkNewestFirstAcrossTimestampTies() {
+        List<List<Long>> pages = new ArrayList<>();
+        List<OrderRow> page = orderRepository.findFirstPage(PageRequest.ofSize(2));
+        while (!page.isEmpty()) {
+            pages.add(ids(page));
+            OrderRow last = page.get(page.size() - 1);
+            page = orderRepository.findPageAfter(last.createdAt(), last.id(), PageRequest.ofSize(2));
+        }
+
+        assertEquals(List.of(List.of(5L, 4L), List.of(3L, 2L), List.of(1L)), pages);
+    }
+
+    @Test
+    void cursorInsideATieReturnsOnlyTheLowerIds() {
+        assertEquals(List.of(2L, 1L), ids(orderRepository.findPageAfter(EARLIER, 3L, PageRequest.ofSize(10))));
+        assertEquals(List.of(3L, 2L, 1L), ids(orderRepository.findPageAfter(LATER, 4L, PageRequest.ofSize(10))));
+        assertTrue(orderRepository.findPageAfter(EARLIER, 1L, PageRequest.ofSize(10)).isEmpty());
+    }
+
+    @Test
+    void statusPagesSkipOtherStatusesWithoutLosingRows() {
+        List<Long> processed = new ArrayList<>();
+        List<OrderRow> page = orderRepository.findFirstPageByStatus(OrderStatus.PROCESSED, PageRequest.ofSize(1));
+        while (!page.isEmpty()) {
+            processed.addAll(ids(page));
+            OrderRow last = page.get(page.size() - 1);
+            page = orderRepository.findPageByStatusAfter(OrderStatus.PROCESSED, last.createdAt(), last.id(),
+                    PageRequest.ofSize(1));
+        }
+
+        assertEquals(List.of(4L, 3L, 1L), processed);
+    }
+
+    private void insert(Long id, LocalDateTime createdAt, OrderStatus status) {
+        new JdbcTemplate(dataSource).update(
+                "INSERT INTO orders (id, external_order_id, total_value, status, created_at, updated_at) " +
+                        "VALUES (?, ?, 0, ?, ?, ?)",
+                id, "ORDER-" + id, status.name(), createdAt, createdAt);
+    }
+
+    private static List<Long> ids(List<OrderRow> rows) {
+        return rows.stream().map(OrderRow::id).toList();
+    }
+}
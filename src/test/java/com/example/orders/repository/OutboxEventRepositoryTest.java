@@ -0,0 +1,137 @@
+package com.example.orders.repository;
+
+import com.example.orders.PostgresRepositoryTest;
+import com.example.orders.model.OutboxEvent;
+import com.example.orders.model.OutboxStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxEventRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        truncateOrderTables();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void concurrentClaimsSkipRowsLockedByAnotherDispatcher() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            outboxEventRepository.save(event("ORDER-" + i, OutboxStatus.PENDING));
+        }
+        LocalDateTime now = LocalDateTime.now().plusSeconds(1);
+
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondClaimed = new CountDownLatch(1);
+
+        // The first claim keeps its transaction, and so its row locks, open until the second one is done
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(tx -> {
+            List<Long> ids = ids(outboxEventRepository.findClaimable(now, now.minusMinutes(1), 6));
+            firstClaimed.countDown();
+            await(secondClaimed);
+            return ids;
+        }));
+
+        await(firstClaimed);
+        List<Long> second = transactionTemplate.execute(tx ->
+                ids(outboxEventRepository.findClaimable(now, now.minusMinutes(1), 6)));
+        secondClaimed.countDown();
+
+        List<Long> firstIds = first.get(10, TimeUnit.SECONDS);
+        assertEquals(6, firstIds.size());
+        assertEquals(4, second.size());
+
+        Set<Long> all = new HashSet<>(firstIds);
+        all.addAll(second);
+        assertEquals(10, all.size());
+    }
+
+    @Test
+    void claimSkipsRowsWaitingForRetryAndReclaimsStaleInFlightRows() {
+        LocalDateTime now = LocalDateTime.now();
+
+        OutboxEvent waiting = event("WAITING", OutboxStatus.PENDING);
+        waiting.setNextAttemptAt(now.plusMinutes(5));
+        outboxEventRepository.save(waiting);
+        OutboxEvent due = outboxEventRepository.save(event("DUE", OutboxStatus.PENDING));
+        OutboxEvent inFlight = outboxEventRepository.save(event("IN_FLIGHT", OutboxStatus.IN_FLIGHT));
+        outboxEventRepository.save(event("SENT", OutboxStatus.SENT));
+
+        List<Long> fresh = transactionTemplate.execute(tx ->
+                ids(outboxEventRepository.findClaimable(now.plusSeconds(1), now.minusMinutes(1), 10)));
+        assertEquals(List.of(due.getId()), fresh);
+
+        List<Long> stale = transactionTemplate.execute(tx ->
+                ids(outboxEventRepository.findClaimable(now.plusSeconds(1), now.plusMinutes(1), 10)));
+        assertEquals(List.of(due.getId(), inFlight.getId()), stale);
+    }
+
+    @Test
+    void redriveRequeuesErrorRowsUntilTheirRedriveBudgetIsSpent() {
+        OutboxEvent retryable = event("RETRYABLE", OutboxStatus.ERROR);
+        retryable.setAttempts(5);
+        retryable.setRedrives(2);
+        outboxEventRepository.save(retryable);
+
+        OutboxEvent spent = event("SPENT", OutboxStatus.ERROR);
+        spent.setRedrives(3);
+        outboxEventRepository.save(spent);
+
+        int redriven = transactionTemplate.execute(tx -> outboxEventRepository.redrive(3, 100, LocalDateTime.now()));
+        assertEquals(1, redriven);
+
+        OutboxEvent requeued = outboxEventRepository.findById(retryable.getId()).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, requeued.getStatus());
+        assertEquals(0, requeued.getAttempts());
+        assertEquals(3, requeued.getRedrives());
+        assertNull(requeued.getNextAttemptAt());
+        assertEquals(OutboxStatus.ERROR, outboxEventRepository.findById(spent.getId()).orElseThrow().getStatus());
+    }
+
+    private static OutboxEvent event(String externalOrderId, OutboxStatus status) {
+        OutboxEvent event = new OutboxEvent();
+        event.setOrderId(1L);
+        event.setExternalOrderId(externalOrderId);
+        event.setStatus(status);
+        return event;
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.orders.service;
+
+import com.example.orders.PostgresRepositoryTest;
+import com.example.orders.dto.response.OrderItemResponseDTO;
+import com.example.orders.dto.response.OrderPageResponseDTO;
+import com.example.orders.dto.response.OrderResponseDTO;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderArchiveRepository;
+import com.example.orders.repository.OrderItemRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Orders moved out by OrderArchiver stay visible to listing and export
+ */
+class ArchivedOrderReadTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusDays(30);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private OrderQueryService orderQueryService;
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductCatalog productCatalog =
+                new ProductCatalog(productRepository, transactionTemplate, new SimpleMeterRegistry(), 100);
+        OrderMapper orderMapper = new OrderMapper(productCatalog);
+        orderQueryService = new OrderQueryService(orderRepository, orderItemRepository, orderArchiveRepository,
+                orderMapper, mock(OrderResponseCache.class), productCatalog);
+        orderExportService = new OrderExportService(dataSource, transactionManager, orderMapper, jsonMapper, 1000);
+
+        new JdbcTemplate(dataSource).update("INSERT INTO products (id, code, name) VALUES (1, 'PROD-1', 'Product 1')");
+        insertOrder(1L, OrderStatus.SENT, LONG_AGO);
+        insertOrder(2L, OrderStatus.SENT, LONG_AGO.plusDays(1));
+        insertOrder(3L, OrderStatus.PROCESSED, LONG_AGO.plusDays(2));
+        insertOrder(4L, OrderStatus.SENT, LocalDateTime.now());
+
+        new OrderArchiver(orderArchiveRepository, transactionTemplate, true, 7, 500, 20).archive();
+    }
+
+    @Test
+    void archivesOnlyOldSentOrders() {
+        assertEquals(List.of(3L, 4L), orderRepository.findAll().stream().map(Order::getId).sorted().toList());
+        assertEquals(2, orderArchiveRepository.count());
+    }
+
+    @Test
+    void listingMergesArchivedOrdersWithTheirItems() {
+        OrderPageResponseDTO page = orderQueryService.listOrders(null, null, 10);
+
+        assertEquals(List.of("ORDER-4", "ORDER-3", "ORDER-2", "ORDER-1"), externalIds(page.getOrders()));
+        assertEquals(List.of("PROD-1"), page.getOrders().get(3).getItems().stream()
+                .map(OrderItemResponseDTO::getProductCode).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void listingPagesAcrossHotAndArchivedOrders() {
+        OrderPageResponseDTO first = orderQueryService.listOrders(OrderStatus.SENT, null, 2);
+        OrderPageResponseDTO second = orderQueryService.listOrders(OrderStatus.SENT, first.getNextCursor(), 2);
+
+        assertEquals(List.of("ORDER-4", "ORDER-2"), externalIds(first.getOrders()));
+        assertEquals(List.of("ORDER-1"), externalIds(second.getOrders()));
+        assertNull(second.getNextCursor());
+        assertEquals(List.of("ORDER-3"),
+                externalIds(orderQueryService.listOrders(OrderStatus.PROCESSED, null, 10).getOrders()));
+    }
+
+    @Test
+    void exportWritesArchivedOrdersBeforeHotOnes() {
+        assertEquals(List.of("ORDER-1", "ORDER-2", "ORDER-3", "ORDER-4"), export(null));
+        assertEquals(List.of("ORDER-1", "ORDER-2", "ORDER-4"), export(OrderStatus.SENT));
+        assertEquals(List.of("ORDER-3"), export(OrderStatus.PROCESSED));
+    }
+
+    private List<String> export(OrderStatus status) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.export(status, null, null, out);
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> jsonMapper.readValue(line, OrderResponseDTO.class).getExternalOrderId())
+                .toList();
+    }
+
+    private void insertOrder(Long id, OrderStatus status, LocalDateTime createdAt) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO orders (id, external_order_id, total_value, status, created_at, updated_at) " +
+                "VALUES (?, ?, 10.00, ?, ?, ?)", id, "ORDER-" + id, status.name(), createdAt, createdAt);
+        jdbcTemplate.update("INSERT INTO order_items (id, order_id, product_id, unit_price, quantity, subtotal) " +
+                "VALUES (?, ?, 1, 5.00, 2, 10.00)", id, id);
+    }
+
+    private static List<String> externalIds(List<OrderResponseDTO> orders) {
+        return orders.stream().map(OrderResponseDTO::getExternalOrderId).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.request.ExternalOrderRequestDTO;
+import com.example.orders.dto.response.BatchOrderResponseDTO;
+import com.example.orders.exception.OverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncOrderIngestionTest {
+
+    private final CountDownLatch committing = new CountDownLatch(1);
+    private final CountDownLatch releaseCommit = new CountDownLatch(1);
+
+    private AsyncOrderIngestion ingestion;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseCommit.countDown();
+        if (ingestion != null) {
+            ingestion.stop();
+        }
+    }
+
+    @Test
+    void groupsBeingCommittedStillCountAgainstTheQueueCapacity() throws InterruptedException {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.processOrderBatch(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            releaseCommit.await();
+            return BatchOrderResponseDTO.builder().results(List.of()).build();
+        });
+        ingestion = new AsyncOrderIngestion(orderService, true, 2, 1, 2, 0, 2);
+        ingestion.start();
+
+        ingestion.submit(order("ORDER-1"));
+        ingestion.submit(order("ORDER-2"));
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+
+        // The queue itself is empty again, but both orders are still uncommitted
+        OverloadedException e = assertThrows(OverloadedException.class, () -> ingestion.submit(order("ORDER-3")));
+        assertEquals(503, e.getStatus());
+
+        releaseCommit.countDown();
+        assertDoesNotThrow(() -> submitWithinSeconds(order("ORDER-3"), 5));
+    }
+
+    @Test
+    void rejectsGroupsLargerThanTheQueue() {
+        assertThrows(IllegalStateException.class,
+                () -> new AsyncOrderIngestion(mock(OrderService.class), true, 100, 2, 200, 5, 2));
+    }
+
+    private void submitWithinSeconds(ExternalOrderRequestDTO request, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (true) {
+            try {
+                ingestion.submit(request);
+                return;
+            } catch (OverloadedException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static ExternalOrderRequestDTO order(String orderId) {
+        ExternalOrderRequestDTO request = new ExternalOrderRequestDTO();
+        request.setOrderId(orderId);
+        return request;
+    }
+}
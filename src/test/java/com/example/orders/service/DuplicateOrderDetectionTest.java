@@ -0,0 +1,78 @@
+package com.example.orders.service;
+
+import com.example.orders.PostgresRepositoryTest;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderItem;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderArchiveRepository;
+import com.example.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * OrderService tells duplicates from other integrity errors by the name PostgreSQL reports
+ * for the violated constraint, so the names in the schema have to match Order's
+ */
+class DuplicateOrderDetectionTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Test
+    void secondInsertOfAnExternalOrderIdIsADuplicate() {
+        orderRepository.saveAndFlush(order("ORDER-1"));
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> orderRepository.saveAndFlush(order("ORDER-1")));
+
+        assertTrue(OrderService.isDuplicateExternalOrderId(e));
+    }
+
+    @Test
+    void insertOfAnArchivedExternalOrderIdIsADuplicate() {
+        Order archived = orderRepository.saveAndFlush(order("ORDER-3"));
+        orderArchiveRepository.moveOrders(List.of(archived.getId()), LocalDateTime.now());
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> orderRepository.saveAndFlush(order("ORDER-3")));
+
+        assertTrue(OrderService.isDuplicateExternalOrderId(e));
+    }
+
+    @Test
+    void otherConstraintViolationsAreNotDuplicates() {
+        Order order = order("ORDER-2");
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProductId(Integer.MAX_VALUE);
+        item.setUnitPrice(BigDecimal.ONE);
+        item.setQuantity(1);
+        item.setSubtotal(BigDecimal.ONE);
+        order.getItems().add(item);
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> orderRepository.saveAndFlush(order));
+
+        assertFalse(OrderService.isDuplicateExternalOrderId(e));
+    }
+
+    private static Order order(String externalOrderId) {
+        Order order = new Order();
+        order.setExternalOrderId(externalOrderId);
+        order.setStatus(OrderStatus.PROCESSED);
+        order.setTotalValue(BigDecimal.ONE);
+        return order;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.orders.service;
+
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class OrderStatusWriteBufferTest {
+
+    private OrderRepository orderRepository;
+    private OrderStatusWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        buffer = new OrderStatusWriteBuffer(orderRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                mock(OrderResponseCache.class),
+                mock(OrderStatistics.class),
+                mock(OrderStatusEvents.class),
+                true, 1000);
+    }
+
+    @Test
+    void lateErrorDoesNotReplaceBufferedSent() {
+        buffer.submit("ORDER-1", OrderStatus.SENT);
+        buffer.submit("ORDER-1", OrderStatus.ERROR);
+        buffer.flush();
+
+        verify(orderRepository).transitionAll(eq(List.of("ORDER-1")), eq(OrderStatus.SENT), any(LocalDateTime.class));
+        verify(orderRepository, never()).transitionAll(any(), eq(OrderStatus.ERROR), any(LocalDateTime.class));
+    }
+
+    @Test
+    void sentAfterErrorIsPersistedAsSent() {
+        buffer.submitAll(List.of("ORDER-2"), OrderStatus.ERROR);
+        buffer.submitAll(List.of("ORDER-2"), OrderStatus.SENT);
+        buffer.flush();
+
+        verify(orderRepository).transitionAll(eq(List.of("ORDER-2")), eq(OrderStatus.SENT), any(LocalDateTime.class));
+        verify(orderRepository, never()).transitionAll(any(), eq(OrderStatus.ERROR), any(LocalDateTime.class));
+    }
+}
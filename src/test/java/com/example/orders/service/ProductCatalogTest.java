@@ -0,0 +1,79 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.request.OrderItemRequestDTO;
+import com.example.orders.repository.ProductRepository;
+import com.example.orders.repository.projection.ProductRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductCatalogTest {
+
+    private ProductRepository productRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        catalog = new ProductCatalog(productRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, 100);
+    }
+
+    @Test
+    void newProductKeepsTheNameItWasFirstReceivedWith() {
+        when(productRepository.findRowsByCodeIn(any()))
+                .thenReturn(List.of(), List.of(new ProductRow(1, "PROD-1", "Widget")));
+
+        catalog.register(List.of(item("PROD-1", "Widget")));
+        catalog.register(List.of(item("PROD-1", "Widget v2")));
+
+        verify(productRepository).insertIfAbsent("PROD-1", "Widget");
+        verify(productRepository, never()).insertIfAbsent("PROD-1", "Widget v2");
+        assertEquals("Widget", catalog.get(1).name());
+        assertEquals(1.0, mismatches());
+    }
+
+    @Test
+    void countsDifferingNamesForProductsAlreadyStored() {
+        when(productRepository.findRowsByCodeIn(any()))
+                .thenReturn(List.of(new ProductRow(2, "PROD-2", "Gadget")));
+
+        catalog.register(List.of(item("PROD-2", "Gadget"), item("PROD-2", "Gizmo")));
+
+        verify(productRepository, never()).insertIfAbsent(any(), any());
+        assertEquals(1.0, mismatches());
+    }
+
+    @Test
+    void matchingNamesAreNotCounted() {
+        when(productRepository.findRowsByCodeIn(any()))
+                .thenReturn(List.of(new ProductRow(3, "PROD-3", null)));
+
+        catalog.register(List.of(item("PROD-3", null)));
+        catalog.register(List.of(item("PROD-3", null)));
+
+        assertEquals(0.0, mismatches());
+    }
+
+    private double mismatches() {
+        return meterRegistry.get("orders.catalog.name.mismatch").counter().count();
+    }
+
+    private static OrderItemRequestDTO item(String productCode, String productName) {
+        return new OrderItemRequestDTO(productCode, productName, BigDecimal.ONE, 1);
+    }
+}